@@ -5,13 +5,16 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import yerong.wedle.calendar.dto.CalendarEventResponse;
 import yerong.wedle.calendar.service.CalendarEventService;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @Tag(name = "CalendarEvent API", description = "달력 이벤트 관련 API")
@@ -31,4 +34,25 @@ public class CalendarEventApiController {
         List<CalendarEventResponse> responses = calendarEventService.getAll();
         return ResponseEntity.ok(responses);
     }
+
+    @Operation(summary = "월별 이벤트 조회", description = "해당 월과 겹치는 달력 이벤트를 월 안의 날짜별로 조회합니다.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "월별 이벤트 조회 성공"),
+            @ApiResponse(responseCode = "400", description = "조회 기간이 올바르지 않습니다.")
+    })
+    @GetMapping("/month")
+    public ResponseEntity<List<CalendarEventResponse>> getEventsByMonth(@RequestParam int year,
+                                                                        @RequestParam int month) {
+        return ResponseEntity.ok(calendarEventService.getByMonth(year, month));
+    }
+
+    @Operation(summary = "주별 이벤트 조회", description = "주어진 날짜가 속한 주(월요일~일요일)와 겹치는 달력 이벤트를 날짜별로 조회합니다.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "주별 이벤트 조회 성공")
+    })
+    @GetMapping("/week")
+    public ResponseEntity<List<CalendarEventResponse>> getEventsByWeek(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return ResponseEntity.ok(calendarEventService.getByWeek(date));
+    }
 }
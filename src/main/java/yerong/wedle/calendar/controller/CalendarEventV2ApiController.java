@@ -0,0 +1,57 @@
+package yerong.wedle.calendar.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import yerong.wedle.calendar.dto.CalendarEventRangeResponse;
+import yerong.wedle.calendar.service.CalendarEventService;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Tag(name = "CalendarEvent API v2", description = "달력 이벤트를 기간 단위로 반환하는 API")
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/api/v2/calendar-events")
+public class CalendarEventV2ApiController {
+
+    private final CalendarEventService calendarEventService;
+
+    @Operation(summary = "모든 이벤트 조회", description = "각 이벤트를 기간과 회원이 등록한 알림 날짜 목록으로 한 번씩 조회합니다. 날짜별 펼치기는 클라이언트에서 처리합니다.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "모든 이벤트 조회 성공")
+    })
+    @GetMapping
+    public ResponseEntity<List<CalendarEventRangeResponse>> getAllEvents() {
+        return ResponseEntity.ok(calendarEventService.getAllCompact());
+    }
+
+    @Operation(summary = "월별 이벤트 조회", description = "해당 월과 겹치는 이벤트를 기간 단위로 조회합니다.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "월별 이벤트 조회 성공"),
+            @ApiResponse(responseCode = "400", description = "조회 기간이 올바르지 않습니다.")
+    })
+    @GetMapping("/month")
+    public ResponseEntity<List<CalendarEventRangeResponse>> getEventsByMonth(@RequestParam int year,
+                                                                             @RequestParam int month) {
+        return ResponseEntity.ok(calendarEventService.getCompactByMonth(year, month));
+    }
+
+    @Operation(summary = "주별 이벤트 조회", description = "주어진 날짜가 속한 주(월요일~일요일)와 겹치는 이벤트를 기간 단위로 조회합니다.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "주별 이벤트 조회 성공")
+    })
+    @GetMapping("/week")
+    public ResponseEntity<List<CalendarEventRangeResponse>> getEventsByWeek(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return ResponseEntity.ok(calendarEventService.getCompactByWeek(date));
+    }
+}
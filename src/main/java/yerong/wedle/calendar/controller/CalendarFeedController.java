@@ -0,0 +1,98 @@
+package yerong.wedle.calendar.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import yerong.wedle.calendar.dto.CalendarFeedUrlResponse;
+import yerong.wedle.calendar.service.CalendarFeedService;
+import yerong.wedle.calendar.service.CalendarFeedService.RenderedFeed;
+
+@Tag(name = "CalendarFeed API", description = "달력 구독(iCalendar) 관련 API")
+@RequiredArgsConstructor
+@RestController
+public class CalendarFeedController {
+
+    private static final MediaType TEXT_CALENDAR = new MediaType("text", "calendar", StandardCharsets.UTF_8);
+
+    private final CalendarFeedService calendarFeedService;
+
+    @Operation(summary = "공개 달력 구독", description = "모든 달력 이벤트를 iCalendar(.ics) 형식으로 제공합니다.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "공개 달력 피드 조회 성공"),
+            @ApiResponse(responseCode = "304", description = "변경된 일정이 없습니다.")
+    })
+    @GetMapping("/calendar/feed.ics")
+    public ResponseEntity<byte[]> getPublicFeed(WebRequest request) {
+        RenderedFeed feed = calendarFeedService.getPublicFeed();
+        CacheControl cacheControl = CacheControl.maxAge(1, TimeUnit.HOURS).cachePublic();
+        // If-None-Match의 여러 값, W/ 약한 비교, *를 RFC 9110에 따라 처리한다.
+        if (request.checkNotModified(feed.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(feed.etag())
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .contentType(TEXT_CALENDAR)
+                .eTag(feed.etag())
+                .cacheControl(cacheControl)
+                .body(feed.body());
+    }
+
+    @Operation(summary = "내 달력 구독", description = "달력 이벤트와 알림을 설정한 날을 iCalendar(.ics) 형식으로 제공합니다.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "회원 달력 피드 조회 성공"),
+            @ApiResponse(responseCode = "404", description = "캘린더 구독 주소를 찾을 수 없습니다.")
+    })
+    @GetMapping("/calendar/feed/{token}.ics")
+    public ResponseEntity<StreamingResponseBody> getMemberFeed(@PathVariable String token) {
+        return ResponseEntity.ok()
+                .contentType(TEXT_CALENDAR)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(calendarFeedService.getMemberFeed(token));
+    }
+
+    @Operation(summary = "달력 구독 주소 조회", description = "캘린더 앱에 등록할 공개 피드와 내 피드 주소를 조회합니다.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "달력 구독 주소 조회 성공")
+    })
+    @GetMapping("/api/calendar-events/feed-url")
+    public ResponseEntity<CalendarFeedUrlResponse> getFeedUrl() {
+        return ResponseEntity.ok(toFeedUrlResponse(calendarFeedService.createToken()));
+    }
+
+    @Operation(summary = "달력 구독 주소 재발급", description = "내 피드 주소를 새로 발급합니다. 이전 주소는 더 이상 사용할 수 없습니다.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "달력 구독 주소 재발급 성공")
+    })
+    @PostMapping("/api/calendar-events/feed-url")
+    public ResponseEntity<CalendarFeedUrlResponse> rotateFeedUrl() {
+        return ResponseEntity.ok(toFeedUrlResponse(calendarFeedService.rotateToken()));
+    }
+
+    private CalendarFeedUrlResponse toFeedUrlResponse(String token) {
+        String publicFeedUrl = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/calendar/feed.ics")
+                .toUriString();
+        String memberFeedUrl = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/calendar/feed/{token}.ics")
+                .buildAndExpand(token)
+                .toUriString();
+        return new CalendarFeedUrlResponse(publicFeedUrl, memberFeedUrl);
+    }
+}
@@ -13,6 +13,7 @@ import java.time.LocalDate;
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor
 @Entity
+@Table(indexes = @Index(name = "idx_calendar_event_dates", columnList = "startDate, endDate"))
 public class CalendarEvent extends BaseTimeEntity {
 
     @Id
@@ -0,0 +1,18 @@
+package yerong.wedle.calendar.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class CalendarEventRangeResponse {
+
+    private Long calendarEventId;
+    private String title;
+    private String type;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private List<ReminderResponse> reminders;
+}
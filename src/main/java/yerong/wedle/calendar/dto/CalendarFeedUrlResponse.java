@@ -0,0 +1,12 @@
+package yerong.wedle.calendar.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class CalendarFeedUrlResponse {
+
+    private String publicFeedUrl;
+    private String memberFeedUrl;
+}
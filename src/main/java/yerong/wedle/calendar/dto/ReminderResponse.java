@@ -0,0 +1,14 @@
+package yerong.wedle.calendar.dto;
+
+import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ReminderResponse {
+
+    private LocalDate date;
+    private Long notificationId;
+    private boolean notificationActive;
+}
@@ -0,0 +1,10 @@
+package yerong.wedle.calendar.exception;
+
+import yerong.wedle.common.exception.CustomException;
+import yerong.wedle.common.exception.ResponseCode;
+
+public class CalendarFeedNotFoundException extends CustomException {
+    public CalendarFeedNotFoundException() {
+        super(ResponseCode.CALENDAR_FEED_NOT_FOUND);
+    }
+}
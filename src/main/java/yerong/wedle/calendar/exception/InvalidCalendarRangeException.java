@@ -0,0 +1,10 @@
+package yerong.wedle.calendar.exception;
+
+import yerong.wedle.common.exception.CustomException;
+import yerong.wedle.common.exception.ResponseCode;
+
+public class InvalidCalendarRangeException extends CustomException {
+    public InvalidCalendarRangeException() {
+        super(ResponseCode.INVALID_CALENDAR_RANGE);
+    }
+}
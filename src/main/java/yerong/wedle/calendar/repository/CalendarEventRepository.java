@@ -1,10 +1,23 @@
 package yerong.wedle.calendar.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import yerong.wedle.calendar.domain.CalendarEvent;
 
 import java.time.LocalDate;
 import java.util.List;
 
 public interface CalendarEventRepository extends JpaRepository<CalendarEvent, Long> {
+
+    @Query("SELECT c FROM CalendarEvent c "
+            + "WHERE c.startDate <= :to AND COALESCE(c.endDate, c.startDate) >= :from ORDER BY c.startDate")
+    List<CalendarEvent> findOverlapping(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // 일정이 추가, 수정, 삭제되었는지 확인하는 용도로 사용한다.
+    // DB에서 직접 고쳐 수정 시각이 바뀌지 않은 경우도 잡도록 행마다 내용의 CRC32를 구해 XOR로 합친다.
+    @Query(value = "SELECT COUNT(*), MAX(id), MAX(updated_at), "
+            + "BIT_XOR(CRC32(CONCAT_WS('|', id, title, start_date, IFNULL(end_date, ''), calendar_event_type))) "
+            + "FROM calendar_event", nativeQuery = true)
+    List<Object[]> findFingerprint();
 }
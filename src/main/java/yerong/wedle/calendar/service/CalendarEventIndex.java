@@ -0,0 +1,88 @@
+package yerong.wedle.calendar.service;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import yerong.wedle.calendar.domain.CalendarEvent;
+import yerong.wedle.calendar.repository.CalendarEventRepository;
+import yerong.wedle.common.utils.IntervalTree;
+
+/**
+ * 모든 일정을 (시작일, 종료일) interval tree로 메모리에 두고 기간 조회를 처리한다.
+ * 일정은 관리자가 DB에서 직접 수정하므로 주기적으로 (개수, 최대 ID, 최종 수정 시각, 내용 해시)를 확인해 바뀐 경우에만 다시 만든다.
+ * 아직 만들어지지 않았으면 빈 값을 반환해 DB 조회로 대신하도록 한다.
+ */
+@Slf4j
+@Component
+public class CalendarEventIndex {
+
+    private final CalendarEventRepository calendarEventRepository;
+
+    private volatile IntervalTree<CalendarEvent> tree;
+    private volatile List<Object> fingerprint;
+    private volatile long version;
+
+    public CalendarEventIndex(CalendarEventRepository calendarEventRepository) {
+        this.calendarEventRepository = calendarEventRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${calendar.index.refresh-interval-ms:60000}",
+            initialDelayString = "${calendar.index.refresh-interval-ms:60000}")
+    public void refreshIfChanged() {
+        try {
+            if (tree == null || !currentFingerprint().equals(fingerprint)) {
+                refresh();
+            }
+        } catch (Exception e) {
+            log.warn("일정 인덱스 변경 확인에 실패했습니다. {}", e.getMessage());
+        }
+    }
+
+    public synchronized void refresh() {
+        try {
+            // 변경 여부를 먼저 읽어야 재구성 중에 바뀐 일정을 다음 확인에서 놓치지 않는다.
+            List<Object> next = currentFingerprint();
+            List<CalendarEvent> events = calendarEventRepository.findAll();
+            tree = new IntervalTree<>(events, CalendarEvent::getStartDate, CalendarEvent::getEndDate);
+            fingerprint = next;
+            version++;
+            log.info("일정 인덱스를 {}건으로 구성했습니다.", events.size());
+        } catch (Exception e) {
+            log.error("일정 인덱스 구성에 실패했습니다.", e);
+        }
+    }
+
+    public Optional<List<CalendarEvent>> findOverlapping(LocalDate from, LocalDate to) {
+        IntervalTree<CalendarEvent> current = tree;
+        if (current == null) {
+            return Optional.empty();
+        }
+        return Optional.of(current.findOverlapping(from, to));
+    }
+
+    public Optional<List<CalendarEvent>> findAll() {
+        IntervalTree<CalendarEvent> current = tree;
+        return current == null ? Optional.empty() : Optional.of(current.getItems());
+    }
+
+    // 인덱스를 다시 만들 때마다 증가하며, 0이면 아직 만들어지지 않은 상태다.
+    public long getVersion() {
+        return version;
+    }
+
+    private List<Object> currentFingerprint() {
+        List<Object[]> rows = calendarEventRepository.findFingerprint();
+        return rows.isEmpty() ? List.of() : Arrays.asList(rows.get(0));
+    }
+}
@@ -1,19 +1,29 @@
 package yerong.wedle.calendar.service;
 
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import yerong.wedle.calendar.domain.CalendarEvent;
+import yerong.wedle.calendar.dto.CalendarEventRangeResponse;
 import yerong.wedle.calendar.dto.CalendarEventResponse;
+import yerong.wedle.calendar.dto.ReminderResponse;
+import yerong.wedle.calendar.exception.InvalidCalendarRangeException;
 import yerong.wedle.calendar.repository.CalendarEventRepository;
 import yerong.wedle.member.domain.Member;
 import yerong.wedle.member.exception.MemberNotFoundException;
 import yerong.wedle.member.repository.MemberRepository;
-import yerong.wedle.notification.domain.Notification;
 import yerong.wedle.notification.repository.NotificationRepository;
 
 @Service
@@ -21,60 +31,158 @@ import yerong.wedle.notification.repository.NotificationRepository;
 @Transactional(readOnly = true)
 public class CalendarEventService {
 
+    private static final int MAX_RANGE_DAYS = 366;
+
     private final CalendarEventRepository calendarEventRepository;
     private final NotificationRepository notificationRepository;
     private final MemberRepository memberRepository;
+    private final CalendarEventIndex calendarEventIndex;
 
     public List<CalendarEventResponse> getAll() {
         List<CalendarEvent> calendarEvents = calendarEventRepository.findAll();
         return convertToDto(calendarEvents);
     }
 
+    public List<CalendarEventResponse> getByMonth(int year, int month) {
+        YearMonth yearMonth = toYearMonth(year, month);
+        return getByRange(yearMonth.atDay(1), yearMonth.atEndOfMonth());
+    }
+
+    public List<CalendarEventResponse> getByWeek(LocalDate date) {
+        LocalDate monday = startOfWeek(date);
+        return getByRange(monday, endOfWeek(monday));
+    }
+
+    /**
+     * 기간과 겹치는 일정만 인덱스에서 찾고, 기간 안의 날짜로만 펼친다.
+     */
+    public List<CalendarEventResponse> getByRange(LocalDate from, LocalDate to) {
+        return convertToDto(findOverlapping(from, to), from, to);
+    }
+
+    public List<CalendarEventRangeResponse> getAllCompact() {
+        return convertToCompactDto(calendarEventRepository.findAll());
+    }
+
+    public List<CalendarEventRangeResponse> getCompactByMonth(int year, int month) {
+        YearMonth yearMonth = toYearMonth(year, month);
+        return convertToCompactDto(findOverlapping(yearMonth.atDay(1), yearMonth.atEndOfMonth()));
+    }
+
+    public List<CalendarEventRangeResponse> getCompactByWeek(LocalDate date) {
+        LocalDate monday = startOfWeek(date);
+        return convertToCompactDto(findOverlapping(monday, endOfWeek(monday)));
+    }
+
+    private List<CalendarEvent> findOverlapping(LocalDate from, LocalDate to) {
+        if (from == null || to == null || from.isAfter(to) || ChronoUnit.DAYS.between(from, to) > MAX_RANGE_DAYS) {
+            throw new InvalidCalendarRangeException();
+        }
+        return calendarEventIndex.findOverlapping(from, to)
+                .orElseGet(() -> calendarEventRepository.findOverlapping(from, to));
+    }
+
+    private YearMonth toYearMonth(int year, int month) {
+        try {
+            return YearMonth.of(year, month);
+        } catch (DateTimeException e) {
+            throw new InvalidCalendarRangeException();
+        }
+    }
+
+    // 지원 범위 끝의 날짜는 주를 계산할 수 없으므로 500 대신 잘못된 기간으로 응답한다.
+    private LocalDate startOfWeek(LocalDate date) {
+        try {
+            return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        } catch (DateTimeException e) {
+            throw new InvalidCalendarRangeException();
+        }
+    }
+
+    private LocalDate endOfWeek(LocalDate monday) {
+        try {
+            return monday.plusDays(6);
+        } catch (DateTimeException e) {
+            throw new InvalidCalendarRangeException();
+        }
+    }
+
+    /**
+     * 일정마다 기간과 회원이 등록한 알림 날짜만 담아, 응답 크기가 일정 일수가 아니라 일정 수와 알림 수에 비례하도록 한다.
+     */
+    private List<CalendarEventRangeResponse> convertToCompactDto(List<CalendarEvent> calendarEvents) {
+        Member member = memberRepository.findBySocialId(getCurrentUserId())
+                .orElseThrow(MemberNotFoundException::new);
+        Map<Long, Map<LocalDate, NotificationState>> states = findNotificationStates(member, calendarEvents);
+        List<CalendarEventRangeResponse> responses = new ArrayList<>(calendarEvents.size());
+        for (CalendarEvent calendarEvent : calendarEvents) {
+            List<ReminderResponse> reminders = states.getOrDefault(calendarEvent.getId(), Map.of()).entrySet().stream()
+                    .map(entry -> new ReminderResponse(entry.getKey(), entry.getValue().notificationId(),
+                            entry.getValue().active()))
+                    .sorted(Comparator.comparing(ReminderResponse::getDate))
+                    .toList();
+            responses.add(CalendarEventRangeResponse.builder()
+                    .calendarEventId(calendarEvent.getId())
+                    .title(calendarEvent.getTitle())
+                    .type(calendarEvent.getCalendarEventType().getDisplayName())
+                    .startDate(calendarEvent.getStartDate())
+                    .endDate(calendarEvent.getEndDate() != null ? calendarEvent.getEndDate() : calendarEvent.getStartDate())
+                    .reminders(reminders)
+                    .build());
+        }
+        return responses;
+    }
+
     public List<CalendarEventResponse> convertToDto(List<CalendarEvent> calendarEvents) {
+        return convertToDto(calendarEvents, LocalDate.MIN, LocalDate.MAX);
+    }
+
+    private List<CalendarEventResponse> convertToDto(List<CalendarEvent> calendarEvents, LocalDate from,
+                                                     LocalDate to) {
         List<CalendarEventResponse> calendarEventResponses = new ArrayList<>();
         String socialId = getCurrentUserId();
         Member member = memberRepository.findBySocialId(socialId)
                 .orElseThrow(MemberNotFoundException::new);
+        Map<Long, Map<LocalDate, NotificationState>> states = findNotificationStates(member, calendarEvents);
         for (CalendarEvent calendarEvent : calendarEvents) {
             LocalDate startDate = calendarEvent.getStartDate();
-            LocalDate endDate = calendarEvent.getEndDate();
+            LocalDate endDate = calendarEvent.getEndDate() != null ? calendarEvent.getEndDate() : startDate;
+            Map<LocalDate, NotificationState> eventStates = states.getOrDefault(calendarEvent.getId(), Map.of());
 
-            if (endDate == null) {
-                Notification notification = notificationRepository.findByMemberAndEventAndNotificationDate(member,
-                        calendarEvent, startDate).orElse(null);
-                Long notificationId = notification != null ? notification.getNotificationId() : null;
+            LocalDate first = startDate.isBefore(from) ? from : startDate;
+            LocalDate last = endDate.isAfter(to) ? to : endDate;
+            for (LocalDate date = first; !date.isAfter(last); date = date.plusDays(1)) {
+                NotificationState state = eventStates.get(date);
                 calendarEventResponses.add(new CalendarEventResponse(
                         calendarEvent.getId(),
                         calendarEvent.getTitle(),
-                        startDate,
+                        date,
                         calendarEvent.getCalendarEventType().getDisplayName(),
-                        notification != null && notification.isActive() && notification.getNotificationDate()
-                                .equals(startDate),
-                        notificationId
+                        state != null && state.active(),
+                        state != null ? state.notificationId() : null
                 ));
-            } else {
-                startDate.datesUntil(endDate.plusDays(1))
-                        .forEach(date -> {
-                            Notification notification = notificationRepository.findByMemberAndEventAndNotificationDate(
-                                    member, calendarEvent, date).orElse(null);
-                            Long notificationId = notification != null ? notification.getNotificationId() : null;
-                            boolean isActive = notification != null && notification.isActive()
-                                    && notification.getNotificationDate().equals(date);
-
-                            calendarEventResponses.add(new CalendarEventResponse(
-                                    calendarEvent.getId(),
-                                    calendarEvent.getTitle(),
-                                    date,
-                                    calendarEvent.getCalendarEventType().getDisplayName(),
-                                    isActive,
-                                    notificationId
-                            ));
-                        });
             }
         }
         return calendarEventResponses;
     }
 
+    // 회원의 알림을 한 번에 읽어 (이벤트, 날짜)로 찾을 수 있도록 한다.
+    private Map<Long, Map<LocalDate, NotificationState>> findNotificationStates(Member member,
+                                                                              List<CalendarEvent> calendarEvents) {
+        Map<Long, Map<LocalDate, NotificationState>> states = new HashMap<>();
+        if (calendarEvents.isEmpty()) {
+            return states;
+        }
+        for (Object[] row : notificationRepository.findStatesByMemberAndEventIn(member, calendarEvents)) {
+            states.computeIfAbsent((Long) row[0], eventId -> new HashMap<>())
+                    .put((LocalDate) row[1], new NotificationState((Long) row[2], (Boolean) row[3]));
+        }
+        return states;
+    }
+
+    private record NotificationState(Long notificationId, boolean active) {
+    }
+
     private String getCurrentUserId() {
         String socialId = SecurityContextHolder.getContext().getAuthentication().getName();
 
@@ -0,0 +1,220 @@
+package yerong.wedle.calendar.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import yerong.wedle.calendar.domain.CalendarEvent;
+import yerong.wedle.calendar.exception.CalendarFeedNotFoundException;
+import yerong.wedle.calendar.repository.CalendarEventRepository;
+import yerong.wedle.member.domain.Member;
+import yerong.wedle.member.exception.MemberNotFoundException;
+import yerong.wedle.member.repository.MemberRepository;
+import yerong.wedle.notification.repository.NotificationRepository;
+
+/**
+ * 달력 일정을 iCalendar 구독 피드로 제공한다.
+ * 공개 피드는 일정 인덱스가 다시 만들어질 때만 새로 렌더링해 바이트와 ETag를 보관하고,
+ * 회원별 피드는 알림을 등록한 날을 별도 일정으로 표시해 응답 스트림에 바로 쓴다.
+ * 캘린더 앱은 인증 헤더를 보낼 수 없으므로 회원별 피드 주소에는 (회원 ID, 발급 버전)의 HMAC 서명을 넣는다.
+ * 주소가 유출되면 재발급으로 회원의 발급 버전을 올려 이전 주소를 무효로 만든다.
+ * 서명 키는 JWT 키와 따로 두어야 하므로 calendar.feed.secret이 없으면 시작하지 않는다.
+ */
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+public class CalendarFeedService {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final String TOKEN_DELIMITER = ".";
+    private static final int MIN_SECRET_BYTES = 32;
+    private static final String PUBLIC_CALENDAR_NAME = "WEDLE 입시 일정";
+    private static final String MEMBER_CALENDAR_NAME = "WEDLE 내 입시 일정";
+
+    private final CalendarEventIndex calendarEventIndex;
+    private final CalendarEventRepository calendarEventRepository;
+    private final NotificationRepository notificationRepository;
+    private final MemberRepository memberRepository;
+    private final SecretKeySpec signingKey;
+
+    private volatile RenderedFeed publicFeed;
+
+    public CalendarFeedService(CalendarEventIndex calendarEventIndex,
+                               CalendarEventRepository calendarEventRepository,
+                               NotificationRepository notificationRepository,
+                               MemberRepository memberRepository,
+                               @Value("${calendar.feed.secret}") String secret) {
+        if (secret.getBytes(StandardCharsets.UTF_8).length < MIN_SECRET_BYTES) {
+            throw new IllegalStateException("calendar.feed.secret은 " + MIN_SECRET_BYTES + "바이트 이상이어야 합니다.");
+        }
+        this.calendarEventIndex = calendarEventIndex;
+        this.calendarEventRepository = calendarEventRepository;
+        this.notificationRepository = notificationRepository;
+        this.memberRepository = memberRepository;
+        this.signingKey = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+    }
+
+    public RenderedFeed getPublicFeed() {
+        long version = calendarEventIndex.getVersion();
+        RenderedFeed current = publicFeed;
+        if (current != null && version > 0 && current.version() == version) {
+            return current;
+        }
+        synchronized (this) {
+            current = publicFeed;
+            if (current != null && version > 0 && current.version() == version) {
+                return current;
+            }
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            writeFeed(buffer, PUBLIC_CALENDAR_NAME, findEvents(), Map.of());
+            byte[] body = buffer.toByteArray();
+            RenderedFeed rendered = new RenderedFeed(version, body, etag(body));
+            // 인덱스가 만들어지기 전에는 매번 DB에서 읽으므로 보관하지 않는다.
+            if (version > 0) {
+                publicFeed = rendered;
+                log.info("공개 달력 피드를 다시 만들었습니다. version: {}, {}bytes", version, body.length);
+            }
+            return rendered;
+        }
+    }
+
+    /**
+     * 요청 스레드에서 필요한 데이터를 모두 읽고, 응답에는 스트림으로 바로 쓰는 본문을 반환한다.
+     */
+    public StreamingResponseBody getMemberFeed(String token) {
+        Member member = verify(token);
+        List<CalendarEvent> events = findEvents();
+        Map<Long, List<LocalDate>> reminderDays = new HashMap<>();
+        if (!events.isEmpty()) {
+            for (Object[] row : notificationRepository.findStatesByMemberAndEventIn(member, events)) {
+                if ((Boolean) row[3]) {
+                    reminderDays.computeIfAbsent((Long) row[0], eventId -> new ArrayList<>())
+                            .add((LocalDate) row[1]);
+                }
+            }
+        }
+        return outputStream -> writeFeed(outputStream, MEMBER_CALENDAR_NAME, events, reminderDays);
+    }
+
+    public String createToken() {
+        return toToken(findCurrentMember());
+    }
+
+    /**
+     * 발급 버전을 올려 이전 구독 주소를 무효로 만들고 새 토큰을 반환한다.
+     */
+    @Transactional
+    public String rotateToken() {
+        Member member = findCurrentMember();
+        member.rotateFeedToken();
+        return toToken(member);
+    }
+
+    private Member findCurrentMember() {
+        String socialId = SecurityContextHolder.getContext().getAuthentication().getName();
+        return memberRepository.findBySocialId(socialId)
+                .orElseThrow(MemberNotFoundException::new);
+    }
+
+    private String toToken(Member member) {
+        return member.getMemberId() + TOKEN_DELIMITER + member.getFeedTokenVersion() + TOKEN_DELIMITER
+                + sign(member.getMemberId(), member.getFeedTokenVersion());
+    }
+
+    private Member verify(String token) {
+        String[] parts = token == null ? new String[0] : token.split(Pattern.quote(TOKEN_DELIMITER), -1);
+        if (parts.length != 3) {
+            throw new CalendarFeedNotFoundException();
+        }
+        Long memberId;
+        int version;
+        try {
+            memberId = Long.parseLong(parts[0]);
+            version = Integer.parseInt(parts[1]);
+        } catch (NumberFormatException e) {
+            throw new CalendarFeedNotFoundException();
+        }
+        byte[] expected = sign(memberId, version).getBytes(StandardCharsets.UTF_8);
+        byte[] actual = parts[2].getBytes(StandardCharsets.UTF_8);
+        if (!MessageDigest.isEqual(expected, actual)) {
+            throw new CalendarFeedNotFoundException();
+        }
+        Member member = memberRepository.findById(memberId)
+                .orElseThrow(CalendarFeedNotFoundException::new);
+        if (member.getFeedTokenVersion() != version) {
+            throw new CalendarFeedNotFoundException();
+        }
+        return member;
+    }
+
+    private String sign(Long memberId, int version) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(signingKey);
+            byte[] signature = mac.doFinal(("calendar-feed:" + memberId + ":" + version)
+                    .getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(signature);
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new IllegalStateException("달력 피드 서명에 실패했습니다.", e);
+        }
+    }
+
+    private List<CalendarEvent> findEvents() {
+        return calendarEventIndex.findAll().orElseGet(calendarEventRepository::findAll);
+    }
+
+    private void writeFeed(OutputStream outputStream, String calendarName, List<CalendarEvent> events,
+                           Map<Long, List<LocalDate>> reminderDays) {
+        try {
+            ICalendarWriter writer = new ICalendarWriter(outputStream);
+            writer.begin(calendarName);
+            for (CalendarEvent event : events) {
+                LocalDate endDate = event.getEndDate() != null ? event.getEndDate() : event.getStartDate();
+                LocalDateTime stamp = event.getUpdatedAt() != null
+                        ? event.getUpdatedAt() : event.getStartDate().atStartOfDay();
+                writer.event("event-" + event.getId() + "@wedle", event.getTitle(),
+                        event.getCalendarEventType().getDisplayName(), event.getStartDate(), endDate, stamp);
+                for (LocalDate date : reminderDays.getOrDefault(event.getId(), List.of())) {
+                    writer.event("reminder-" + event.getId() + "-" + date + "@wedle", "[알림] " + event.getTitle(),
+                            "WEDLE에서 알림을 설정한 날입니다.", date, date, stamp);
+                }
+            }
+            writer.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String etag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public record RenderedFeed(long version, byte[] body, String etag) {
+    }
+}
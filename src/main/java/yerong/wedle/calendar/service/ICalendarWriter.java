@@ -0,0 +1,95 @@
+package yerong.wedle.calendar.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * RFC 5545 형식의 iCalendar를 출력 스트림에 바로 쓴다.
+ * 줄은 CRLF로 끝나고 75바이트를 넘으면 접으며, 종일 일정의 DTEND는 종료일 다음 날이다.
+ */
+public class ICalendarWriter {
+
+    private static final int MAX_LINE_OCTETS = 75;
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final DateTimeFormatter STAMP_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+
+    private final Writer writer;
+
+    public ICalendarWriter(OutputStream outputStream) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+    }
+
+    public void begin(String calendarName) throws IOException {
+        line("BEGIN:VCALENDAR");
+        line("VERSION:2.0");
+        line("PRODID:-//WEDLE//Admission Calendar//KO");
+        line("CALSCALE:GREGORIAN");
+        line("METHOD:PUBLISH");
+        line("X-WR-CALNAME:" + escape(calendarName));
+        line("X-WR-TIMEZONE:Asia/Seoul");
+    }
+
+    public void event(String uid, String summary, String description, LocalDate startDate, LocalDate endDate,
+                      LocalDateTime stamp) throws IOException {
+        line("BEGIN:VEVENT");
+        line("UID:" + uid);
+        line("DTSTAMP:" + stamp.atZone(ZoneId.systemDefault()).withZoneSameInstant(ZoneOffset.UTC)
+                .format(STAMP_FORMAT));
+        line("DTSTART;VALUE=DATE:" + startDate.format(DATE_FORMAT));
+        line("DTEND;VALUE=DATE:" + endDate.plusDays(1).format(DATE_FORMAT));
+        line("SUMMARY:" + escape(summary));
+        if (description != null) {
+            line("DESCRIPTION:" + escape(description));
+        }
+        line("TRANSP:TRANSPARENT");
+        line("END:VEVENT");
+    }
+
+    public void end() throws IOException {
+        line("END:VCALENDAR");
+        writer.flush();
+    }
+
+    private void line(String content) throws IOException {
+        int octets = 0;
+        for (int i = 0; i < content.length(); ) {
+            int codePoint = content.codePointAt(i);
+            int size = utf8Length(codePoint);
+            if (octets + size > MAX_LINE_OCTETS) {
+                writer.write("\r\n ");
+                octets = 1;
+            }
+            writer.write(Character.toChars(codePoint));
+            octets += size;
+            i += Character.charCount(codePoint);
+        }
+        writer.write("\r\n");
+    }
+
+    private static int utf8Length(int codePoint) {
+        if (codePoint < 0x80) {
+            return 1;
+        }
+        if (codePoint < 0x800) {
+            return 2;
+        }
+        return codePoint < 0x10000 ? 3 : 4;
+    }
+
+    private static String escape(String text) {
+        return text.replace("\\", "\\\\")
+                .replace(";", "\\;")
+                .replace(",", "\\,")
+                .replace("\r\n", "\\n")
+                .replace("\n", "\\n");
+    }
+}
@@ -9,9 +9,11 @@ import yerong.wedle.category.expo.domain.ExpoStatus;
 import yerong.wedle.category.expo.domain.ExpoType;
 import yerong.wedle.category.expo.dto.ExpoResponse;
 import yerong.wedle.category.expo.repository.ExpoRepository;
+import yerong.wedle.common.lease.RedisLeaseCoordinator;
 import yerong.wedle.university.domain.University;
 import yerong.wedle.university.repository.UniversityRepository;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -23,6 +25,7 @@ public class ExpoService {
 
     private final ExpoRepository expoRepository;
     private final UniversityRepository universityRepository;
+    private final RedisLeaseCoordinator leaseCoordinator;
     public List<ExpoResponse> getExposByKeyword(String keyword) {
         List<Expo> expos = expoRepository.findByContentContainingOrTitleContaining(keyword, keyword);
 
@@ -66,11 +69,14 @@ public class ExpoService {
     @Scheduled(cron = "0 0 0 * * ?")
     @Transactional
     public void updateExpiredExposStatus() {
-        LocalDate today = LocalDate.now();
-        List<Expo> expiredExpos = expoRepository.findByEndDateBeforeAndExpoStatus(today, ExpoStatus.OPEN);
+        leaseCoordinator.runExclusively("expo:update-expired-status", Duration.ofMinutes(5), lease -> {
+            LocalDate today = LocalDate.now();
+            List<Expo> expiredExpos = expoRepository.findByEndDateBeforeAndExpoStatus(today, ExpoStatus.OPEN);
 
-        for (Expo expo : expiredExpos) {
-            expo.setExpoStatus(ExpoStatus.CLOSED);
-        }
+            leaseCoordinator.checkValid(lease);
+            for (Expo expo : expiredExpos) {
+                expo.setExpoStatus(ExpoStatus.CLOSED);
+            }
+        });
     }
 }
\ No newline at end of file
@@ -23,15 +23,58 @@ public class RestaurantApiController {
     private final KakaoSearchApiService kakaoSearchApiService;
 
 
-    @Operation(summary = "Kakao 맛집 검색", description = "주어진 대학 이름을 기준으로 Kakao API를 통해 맛집 정보를 검색합니다.")
+    @Operation(summary = "Kakao 맛집 검색", description = "주어진 대학 이름을 기준으로 Kakao API를 통해 맛집 정보를 검색합니다. "
+            + "pages를 2~3으로 지정하면 여러 페이지를 합쳐 캠퍼스에서 가까운 순으로 반환합니다.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "맛집 검색 성공"),
             @ApiResponse(responseCode = "400", description = "잘못된 요청"),
             @ApiResponse(responseCode = "500", description = "서버 오류")
     })
     @GetMapping("/kakao")
-    public ResponseEntity<List<RestaurantResponse>> kakaoSearchDynamic(@RequestParam String universityName) {
-        List<RestaurantResponse> restaurantResponses = kakaoSearchApiService.searchRestaurant(universityName);
+    public ResponseEntity<List<RestaurantResponse>> kakaoSearchDynamic(@RequestParam String universityName,
+                                                                       @RequestParam(defaultValue = "1") int pages) {
+        List<RestaurantResponse> restaurantResponses = kakaoSearchApiService.searchRestaurant(universityName, pages);
         return ResponseEntity.ok(restaurantResponses);
     }
+
+    @Operation(summary = "반경 내 맛집 조회", description = "대학 주변에서 검색된 맛집 중 주어진 좌표에서 반경(m) 이내의 맛집을 가까운 순으로 조회합니다. "
+            + "지도 이동에 따른 조회는 Kakao API를 다시 호출하지 않습니다.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "반경 내 맛집 조회 성공"),
+            @ApiResponse(responseCode = "400", description = "맛집 검색 범위가 올바르지 않습니다.")
+    })
+    @GetMapping("/nearby")
+    public ResponseEntity<List<RestaurantResponse>> findNearby(@RequestParam String universityName,
+                                                               @RequestParam double x,
+                                                               @RequestParam double y,
+                                                               @RequestParam(defaultValue = "500") int radius,
+                                                               @RequestParam(required = false) String category) {
+        return ResponseEntity.ok(kakaoSearchApiService.findNearby(universityName, x, y, radius, category));
+    }
+
+    @Operation(summary = "지도 영역 내 맛집 조회", description = "대학 주변에서 검색된 맛집 중 지도 영역(경도 minX~maxX, 위도 minY~maxY) 안의 맛집을 조회합니다.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "지도 영역 내 맛집 조회 성공"),
+            @ApiResponse(responseCode = "400", description = "맛집 검색 범위가 올바르지 않습니다.")
+    })
+    @GetMapping("/bounds")
+    public ResponseEntity<List<RestaurantResponse>> findInBounds(@RequestParam String universityName,
+                                                                 @RequestParam double minX,
+                                                                 @RequestParam double minY,
+                                                                 @RequestParam double maxX,
+                                                                 @RequestParam double maxY,
+                                                                 @RequestParam(required = false) String category) {
+        return ResponseEntity.ok(
+                kakaoSearchApiService.findInBounds(universityName, minX, minY, maxX, maxY, category));
+    }
+
+    @Operation(summary = "카테고리별 맛집 조회", description = "대학 주변에서 검색된 맛집을 카테고리(예: 분식, 카페)로 조회합니다.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "카테고리별 맛집 조회 성공")
+    })
+    @GetMapping("/category")
+    public ResponseEntity<List<RestaurantResponse>> findByCategory(@RequestParam String universityName,
+                                                                   @RequestParam String category) {
+        return ResponseEntity.ok(kakaoSearchApiService.findByCategory(universityName, category));
+    }
 }
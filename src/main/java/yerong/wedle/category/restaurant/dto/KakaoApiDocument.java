@@ -4,6 +4,7 @@ import lombok.Data;
 
 @Data
 public class KakaoApiDocument {
+    private String id;
     private String place_name;
     private String road_address_name;
     private String address_name;
@@ -11,6 +11,7 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @Builder
 public class RestaurantResponse {
+    private String placeId;
     private String name;
     private String roadAddressName;
     private String addressName;
@@ -19,4 +20,5 @@ public class RestaurantResponse {
     private String placeUrl;
     private Double x;
     private Double y;
+    private Integer distance;
 }
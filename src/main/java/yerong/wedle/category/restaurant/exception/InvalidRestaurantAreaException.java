@@ -0,0 +1,10 @@
+package yerong.wedle.category.restaurant.exception;
+
+import yerong.wedle.common.exception.CustomException;
+import yerong.wedle.common.exception.ResponseCode;
+
+public class InvalidRestaurantAreaException extends CustomException {
+    public InvalidRestaurantAreaException() {
+        super(ResponseCode.INVALID_RESTAURANT_AREA);
+    }
+}
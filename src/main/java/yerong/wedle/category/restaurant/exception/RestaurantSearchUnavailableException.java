@@ -0,0 +1,10 @@
+package yerong.wedle.category.restaurant.exception;
+
+import yerong.wedle.common.exception.CustomException;
+import yerong.wedle.common.exception.ResponseCode;
+
+public class RestaurantSearchUnavailableException extends CustomException {
+    public RestaurantSearchUnavailableException() {
+        super(ResponseCode.RESTAURANT_SEARCH_UNAVAILABLE);
+    }
+}
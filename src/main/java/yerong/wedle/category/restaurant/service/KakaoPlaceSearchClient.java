@@ -0,0 +1,203 @@
+package yerong.wedle.category.restaurant.service;
+
+import jakarta.annotation.PreDestroy;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+import yerong.wedle.category.restaurant.dto.KakaoApiDocument;
+import yerong.wedle.category.restaurant.dto.KakaoApiResponse;
+import yerong.wedle.common.utils.GeoGridIndex;
+
+/**
+ * Kakao 키워드 검색 API 클라이언트.
+ * 여러 페이지를 요청할 때는 페이지를 동시에 받아 장소 ID로 중복을 없애고 캠퍼스에서 가까운 순으로 합친다.
+ * 일부 페이지만 실패하면 받은 페이지로 응답하되 완전하지 않은 결과로 표시하고, 모든 페이지가 실패했을 때만 예외를 던진다.
+ * 제한 시간 안에 오지 않은 페이지는 작업을 취소해 스레드를 돌려받는다. 이미 보낸 요청의 소켓 읽기는 인터럽트로 멈추지 않으므로
+ * Kakao 호스트의 HTTP 읽기 제한 시간(http.client.hosts)을 페이지 제한 시간보다 짧게 둔다.
+ * Java 17에는 virtual thread가 없으므로 페이지 요청은 page-threads 크기의 고정 스레드 풀에서 보낸다.
+ */
+@Slf4j
+@Component
+public class KakaoPlaceSearchClient {
+
+    public static final int PAGE_SIZE = 15;
+    // Kakao 키워드 검색은 최대 45건까지만 페이지로 나누어 제공한다.
+    public static final int MAX_PAGES = 3;
+
+    private static final String KEYWORD_PATH = "/v2/local/search/keyword.json";
+    private static final String SCHOOL_CATEGORY = "SC4";
+
+    private final RestTemplate restTemplate;
+    private final String clientId;
+    private final String baseUrl;
+    private final long timeoutMillis;
+    private final ExecutorService pageExecutor;
+    private final Map<String, Optional<Point>> campuses = new ConcurrentHashMap<>();
+
+    public KakaoPlaceSearchClient(RestTemplate restTemplate,
+                                  @Value("${kakao.client-id}") String clientId,
+                                  @Value("${kakao.search.base-url:https://dapi.kakao.com}") String baseUrl,
+                                  @Value("${kakao.search.page-threads:8}") int pageThreads,
+                                  @Value("${kakao.search.page-timeout-ms:3000}") long timeoutMillis) {
+        this.restTemplate = restTemplate;
+        this.clientId = clientId;
+        this.baseUrl = baseUrl;
+        this.timeoutMillis = timeoutMillis;
+        this.pageExecutor = Executors.newFixedThreadPool(pageThreads, runnable -> {
+            Thread thread = new Thread(runnable, "kakao-search-page");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pageExecutor.shutdownNow();
+    }
+
+    /**
+     * 캠퍼스 좌표를 찾는다. 대학 위치는 바뀌지 않으므로 찾은 결과를 계속 보관한다.
+     * 검색에 실패하면 위치가 없는 것과 구분되도록 예외를 던지고, 결과는 보관하지 않는다.
+     */
+    public Optional<Point> findCampus(String campusName) {
+        Optional<Point> cached = campuses.get(campusName);
+        if (cached != null) {
+            return cached;
+        }
+        URI uri = UriComponentsBuilder.fromHttpUrl(baseUrl)
+                .path(KEYWORD_PATH)
+                .queryParam("query", campusName)
+                .queryParam("category_group_code", SCHOOL_CATEGORY)
+                .queryParam("size", 1)
+                .encode()
+                .build()
+                .toUri();
+        Optional<Point> campus = fetch(uri).stream()
+                .filter(document -> document.getX() != null && document.getY() != null)
+                .findFirst()
+                .map(document -> new Point(document.getX(), document.getY()));
+        campuses.put(campusName, campus);
+        return campus;
+    }
+
+    public SearchResult search(String query, int pages, Point center) {
+        int pageCount = Math.max(1, Math.min(pages, MAX_PAGES));
+        List<Future<List<KakaoApiDocument>>> futures = new ArrayList<>();
+        for (int page = 1; page <= pageCount; page++) {
+            URI uri = keywordUri(query, page, center);
+            futures.add(pageExecutor.submit(() -> fetch(uri)));
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        Map<String, KakaoApiDocument> merged = new LinkedHashMap<>();
+        RestClientException failure = null;
+        int failedPages = 0;
+        for (Future<List<KakaoApiDocument>> future : futures) {
+            try {
+                for (KakaoApiDocument document : future.get(Math.max(0, deadline - System.nanoTime()),
+                        TimeUnit.NANOSECONDS)) {
+                    merged.putIfAbsent(placeKey(document), document);
+                }
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                failedPages++;
+                failure = new RestClientException("Kakao 검색 페이지가 " + timeoutMillis + "ms 안에 오지 않았습니다.");
+            } catch (ExecutionException e) {
+                failedPages++;
+                failure = e.getCause() instanceof RestClientException cause
+                        ? cause : new RestClientException("Kakao 검색에 실패했습니다.", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.forEach(pending -> pending.cancel(true));
+                throw new RestClientException("Kakao 검색이 중단되었습니다.", e);
+            }
+        }
+        if (failedPages == pageCount) {
+            throw failure;
+        }
+        if (failedPages > 0) {
+            log.warn("Kakao 검색 {}페이지 중 {}페이지를 받지 못했습니다. query: {}", pageCount, failedPages, query);
+        }
+
+        List<KakaoApiDocument> documents = new ArrayList<>(merged.values());
+        if (center != null) {
+            documents.sort(Comparator.comparingDouble(document -> center.distanceTo(document)));
+        }
+        return new SearchResult(documents, failedPages == 0);
+    }
+
+    private URI keywordUri(String query, int page, Point center) {
+        UriComponentsBuilder builder = UriComponentsBuilder.fromHttpUrl(baseUrl)
+                .path(KEYWORD_PATH)
+                .queryParam("query", query)
+                .queryParam("page", page)
+                .queryParam("size", PAGE_SIZE);
+        if (center != null) {
+            builder.queryParam("x", center.x())
+                    .queryParam("y", center.y())
+                    .queryParam("sort", "distance");
+        }
+        return builder.encode().build().toUri();
+    }
+
+    private List<KakaoApiDocument> fetch(URI uri) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("Authorization", "KakaoAK " + clientId);
+        KakaoApiResponse response = restTemplate.exchange(uri, HttpMethod.GET, new HttpEntity<>(headers),
+                KakaoApiResponse.class).getBody();
+        if (response == null || response.getDocuments() == null) {
+            return List.of();
+        }
+        return response.getDocuments();
+    }
+
+    private static String placeKey(KakaoApiDocument document) {
+        if (document.getId() != null) {
+            return document.getId();
+        }
+        return document.getPlace_name() + "|" + document.getX() + "|" + document.getY();
+    }
+
+    /**
+     * 받지 못한 페이지가 있으면 complete가 false다.
+     */
+    public record SearchResult(List<KakaoApiDocument> documents, boolean complete) {
+    }
+
+    /**
+     * 경도(x)와 위도(y).
+     */
+    public record Point(double x, double y) {
+
+        public double distanceTo(KakaoApiDocument document) {
+            if (document.getX() == null || document.getY() == null) {
+                return Double.MAX_VALUE;
+            }
+            return distanceTo(document.getX(), document.getY());
+        }
+
+        public double distanceTo(double otherX, double otherY) {
+            return GeoGridIndex.distanceMeters(x, y, otherX, otherY);
+        }
+    }
+}
@@ -1,76 +1,259 @@
 package yerong.wedle.category.restaurant.service;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.client.RestClientException;
 import yerong.wedle.category.restaurant.dto.RestaurantResponse;
 import yerong.wedle.category.restaurant.dto.KakaoApiDocument;
-import yerong.wedle.category.restaurant.dto.KakaoApiResponse;
+import yerong.wedle.category.restaurant.exception.InvalidRestaurantAreaException;
+import yerong.wedle.category.restaurant.exception.RestaurantSearchUnavailableException;
+import yerong.wedle.category.restaurant.service.KakaoPlaceSearchClient.Point;
+import yerong.wedle.category.restaurant.service.KakaoPlaceSearchClient.SearchResult;
+import yerong.wedle.common.utils.GeoGridIndex;
+import yerong.wedle.common.utils.StaleWhileRevalidateCache;
 import yerong.wedle.university.domain.University;
 import yerong.wedle.university.exception.UniversityNotFoundException;
 import yerong.wedle.university.repository.UniversityRepository;
 
+/**
+ * 대학별 맛집 검색 결과는 하루 단위로도 거의 바뀌지 않으므로 메모리에 보관한다.
+ * TTL이 지난 결과는 stale 기간 동안 그대로 응답하면서 백그라운드에서 다시 검색하고,
+ * 같은 대학의 동시 요청은 Kakao API를 한 번만 호출한다.
+ * Kakao 호출이 실패하면 stale 기간이 지난 결과라도 남아 있으면 그대로 응답하고, 없으면 503으로 바로 실패한다.
+ * 일부 페이지나 캠퍼스 위치를 받지 못한 결과는 짧은 TTL로만 보관해 곧 다시 검색한다.
+ */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class KakaoSearchApiService {
 
-    @Value("${kakao.client-id}")
-    private String KAKAO_CLIENT_ID;
+    private static final int MAX_RADIUS_METERS = 5000;
 
-    private final RestTemplate restTemplate;
+    @Value("${kakao.search.cache.ttl-minutes:720}")
+    private long cacheTtlMinutes;
+
+    @Value("${kakao.search.cache.partial-ttl-minutes:5}")
+    private long partialTtlMinutes;
+
+    @Value("${kakao.search.cache.stale-minutes:4320}")
+    private long cacheStaleMinutes;
+
+    @Value("${kakao.search.cache.refresh-threads:2}")
+    private int refreshThreads;
+
+    private final KakaoPlaceSearchClient placeSearchClient;
     private final UniversityRepository universityRepository;
+    private final RestaurantGeoIndex restaurantGeoIndex;
+
+    private ExecutorService refreshExecutor;
+    private StaleWhileRevalidateCache<SearchKey, RestaurantSearch> restaurantCache;
+    private final Map<String, LongAdder> recentHits = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        refreshExecutor = Executors.newFixedThreadPool(refreshThreads, runnable -> {
+            Thread thread = new Thread(runnable, "kakao-search-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long ttlMillis = TimeUnit.MINUTES.toMillis(cacheTtlMinutes);
+        long partialTtlMillis = TimeUnit.MINUTES.toMillis(partialTtlMinutes);
+        restaurantCache = new StaleWhileRevalidateCache<>(this::fetchRestaurant, refreshExecutor,
+                search -> search.complete() ? ttlMillis : partialTtlMillis,
+                TimeUnit.MINUTES.toMillis(cacheStaleMinutes));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
 
     public List<RestaurantResponse> searchRestaurant(String universityName) {
-        University university = universityRepository.findByName(universityName)
-                .orElseThrow(UniversityNotFoundException::new);
-        String query;
-        if (university.getSubName() != null) {
-            query = university.getSubName() + " 맛집";
-        } else {
-            query = universityName + " 맛집";
+        return searchRestaurant(universityName, 1);
+    }
+
+    /**
+     * pages가 2 이상이면 Kakao 검색 결과를 여러 페이지 동시에 받아 합친 더 긴 목록을 반환한다.
+     */
+    public List<RestaurantResponse> searchRestaurant(String universityName, int pages) {
+        int pageCount = Math.max(1, Math.min(pages, KakaoPlaceSearchClient.MAX_PAGES));
+        SearchKey key = new SearchKey(universityName, pageCount);
+        List<RestaurantResponse> restaurants = restaurantCache.get(key).restaurants();
+        // 존재하는 대학만 집계되도록 검색에 성공한 뒤 기록한다.
+        recentHits.computeIfAbsent(universityName, name -> new LongAdder()).increment();
+        return restaurants;
+    }
+
+    /**
+     * (x, y)에서 radiusMeters 이내의 맛집을 가까운 순으로 반환한다.
+     */
+    public List<RestaurantResponse> findNearby(String universityName, double x, double y, int radiusMeters,
+                                               String category) {
+        if (radiusMeters <= 0 || radiusMeters > MAX_RADIUS_METERS || !isValidPoint(x, y)) {
+            throw new InvalidRestaurantAreaException();
         }
-        String url = "https://dapi.kakao.com/v2/local/search/keyword.json?query=" + query + "&size=15";
+        return filterByCategory(geoIndex(universityName).findNear(x, y, radiusMeters), category);
+    }
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.set("Authorization", "KakaoAK " + KAKAO_CLIENT_ID);
+    public List<RestaurantResponse> findInBounds(String universityName, double minX, double minY, double maxX,
+                                                 double maxY, String category) {
+        if (!isValidPoint(minX, minY) || !isValidPoint(maxX, maxY) || minX > maxX || minY > maxY) {
+            throw new InvalidRestaurantAreaException();
+        }
+        return filterByCategory(geoIndex(universityName).findWithin(minX, minY, maxX, maxY), category);
+    }
 
-        HttpEntity<String> entity = new HttpEntity<>(headers);
-        ResponseEntity<KakaoApiResponse> response = restTemplate.exchange(url, HttpMethod.GET, entity, KakaoApiResponse.class);
+    public List<RestaurantResponse> findByCategory(String universityName, String category) {
+        return filterByCategory(geoIndex(universityName).getItems(), category);
+    }
 
-        List<RestaurantResponse> restaurantResponses = new ArrayList<>();
+    /**
+     * 캐시가 아직 유효하면 Kakao API를 호출하지 않고 false를 반환한다.
+     * 제한 시간이 지나도 갱신은 Kakao 호출을 계속하므로, 갱신이 끝날 때까지 기다린 뒤 TimeoutException을 던진다.
+     * 그래야 호출한 쪽의 호출 간격이 실제 호출을 기준으로 유지된다. 갱신은 HTTP 클라이언트의 읽기 제한 시간 안에 끝난다.
+     */
+    public boolean warm(String universityName, long timeoutMillis)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        SearchKey key = new SearchKey(universityName, 1);
+        if (restaurantCache.isFresh(key)) {
+            return false;
+        }
+        CompletableFuture<?> refresh = restaurantCache.refreshAsync(key);
+        try {
+            refresh.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            refresh.handle((value, error) -> null).get();
+            throw e;
+        }
+        return true;
+    }
+
+    /**
+     * 최근 조회 수를 반환하고, 오래된 조회가 계속 우선순위를 차지하지 않도록 절반으로 줄인다.
+     */
+    public Map<String, Long> drainRecentHits() {
+        Map<String, Long> snapshot = new HashMap<>();
+        recentHits.forEach((universityName, hits) -> {
+            long count = hits.sumThenReset();
+            if (count > 0) {
+                snapshot.put(universityName, count);
+                hits.add(count / 2);
+            } else {
+                recentHits.remove(universityName, hits);
+            }
+        });
+        return snapshot;
+    }
+
+    /**
+     * 아직 검색한 적 없는 대학이면 한 번 검색해 인덱스를 채운다. 그 뒤의 조회는 모두 메모리에서 처리한다.
+     */
+    private GeoGridIndex<RestaurantResponse> geoIndex(String universityName) {
+        return restaurantGeoIndex.find(universityName).orElseGet(() -> {
+            searchRestaurant(universityName, KakaoPlaceSearchClient.MAX_PAGES);
+            return restaurantGeoIndex.find(universityName)
+                    .orElseGet(() -> new GeoGridIndex<>(List.of(), RestaurantResponse::getX,
+                            RestaurantResponse::getY, 1));
+        });
+    }
 
-        if (response.getBody() != null && response.getBody().getDocuments() != null) {
-            for (KakaoApiDocument document : response.getBody().getDocuments()) {
-                String fullCategoryName = document.getCategory_name();
-                String lastCategory = null;
+    // NaN과 무한대는 범위 비교를 모두 통과하지 못하므로 함께 걸러진다.
+    private static boolean isValidPoint(double x, double y) {
+        return x >= -180 && x <= 180 && y >= -90 && y <= 90;
+    }
 
-                if (fullCategoryName != null && !fullCategoryName.isEmpty()) {
-                    String[] categories = fullCategoryName.split(" > ");
-                    if (categories.length > 0) {
-                        lastCategory = categories[categories.length - 1];
-                    }
-                }
+    private static List<RestaurantResponse> filterByCategory(List<RestaurantResponse> restaurants, String category) {
+        if (category == null || category.isBlank()) {
+            return restaurants;
+        }
+        String trimmed = category.trim();
+        return restaurants.stream()
+                .filter(restaurant -> restaurant.getCategoryName() != null
+                        && restaurant.getCategoryName().trim().equalsIgnoreCase(trimmed))
+                .toList();
+    }
+
+    private RestaurantSearch fetchRestaurant(SearchKey key) {
+        University university = universityRepository.findByName(key.universityName())
+                .orElseThrow(UniversityNotFoundException::new);
+        String campusName = university.getSubName() != null ? university.getSubName() : key.universityName();
 
-                restaurantResponses.add(RestaurantResponse.builder()
-                        .name(document.getPlace_name())
-                        .roadAddressName(document.getRoad_address_name())
-                        .addressName(document.getAddress_name())
-                        .categoryName(lastCategory)
-                        .phone(document.getPhone())
-                        .placeUrl(document.getPlace_url())
-                        .x(document.getX())
-                        .y(document.getY())
-                        .build());
+        // 여러 페이지를 합칠 때만 캠퍼스 기준 거리순으로 정렬한다.
+        Point campus = null;
+        boolean campusFound = true;
+        if (key.pages() > 1) {
+            try {
+                campus = placeSearchClient.findCampus(campusName).orElse(null);
+            } catch (RestClientException e) {
+                campusFound = false;
+                log.warn("캠퍼스 위치를 찾지 못해 정렬하지 않습니다. campus: {}, {}", campusName, e.getMessage());
             }
         }
+        SearchResult result;
+        try {
+            result = placeSearchClient.search(campusName + " 맛집", key.pages(), campus);
+        } catch (RestClientException e) {
+            log.warn("Kakao 맛집 검색에 실패했습니다. university: {}, {}", key.universityName(), e.getMessage());
+            throw new RestaurantSearchUnavailableException();
+        }
+
+        List<RestaurantResponse> restaurantResponses = new ArrayList<>();
+        for (KakaoApiDocument document : result.documents()) {
+            String fullCategoryName = document.getCategory_name();
+            String lastCategory = null;
+
+            if (fullCategoryName != null && !fullCategoryName.isEmpty()) {
+                String[] categories = fullCategoryName.split(" > ");
+                if (categories.length > 0) {
+                    lastCategory = categories[categories.length - 1];
+                }
+            }
+
+            restaurantResponses.add(RestaurantResponse.builder()
+                    .placeId(document.getId())
+                    .name(document.getPlace_name())
+                    .roadAddressName(document.getRoad_address_name())
+                    .addressName(document.getAddress_name())
+                    .categoryName(lastCategory)
+                    .phone(document.getPhone())
+                    .placeUrl(document.getPlace_url())
+                    .x(document.getX())
+                    .y(document.getY())
+                    .distance(campus != null && document.getX() != null && document.getY() != null
+                            ? (int) Math.round(campus.distanceTo(document)) : null)
+                    .build());
+        }
+
+        List<RestaurantResponse> restaurants = List.copyOf(restaurantResponses);
+        boolean complete = result.complete() && campusFound;
+        // 완전하지 않은 결과는 인덱스가 비어 있을 때만 넣어 이전의 완전한 결과를 덮어쓰지 않는다.
+        if (complete || restaurantGeoIndex.find(key.universityName()).isEmpty()) {
+            restaurantGeoIndex.index(key.universityName(), key.pages(), restaurants);
+        }
+        log.info("Kakao 맛집 검색 결과를 갱신했습니다. university: {}, {}페이지, {}건, 완전한 결과: {}",
+                key.universityName(), key.pages(), restaurants.size(), complete);
+        return new RestaurantSearch(restaurants, complete);
+    }
+
+    private record SearchKey(String universityName, int pages) {
+    }
 
-        return restaurantResponses;
+    private record RestaurantSearch(List<RestaurantResponse> restaurants, boolean complete) {
     }
 }
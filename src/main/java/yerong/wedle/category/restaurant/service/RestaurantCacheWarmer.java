@@ -0,0 +1,151 @@
+package yerong.wedle.category.restaurant.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import yerong.wedle.common.lease.RedisLeaseCoordinator;
+import yerong.wedle.university.domain.University;
+import yerong.wedle.university.repository.UniversityRepository;
+
+/**
+ * 모든 대학의 맛집 검색 결과를 백그라운드에서 미리 채워 첫 방문자가 Kakao API 응답을 기다리지 않게 한다.
+ * 최근 조회가 많은 대학부터 처리하고, Kakao 호출은 초당 rate-per-second 회를 넘지 않도록 간격을 둔다.
+ * 캐시는 서버마다 메모리에 있으므로 리스 없이 각 서버가 자신의 캐시를 채우되, Kakao 키는 모든 서버가 함께 쓰므로
+ * 최근 예열한 서버 수만큼 호출 간격을 늘려 전체 호출량이 rate-per-second를 넘지 않게 한다.
+ */
+@Slf4j
+@Component
+public class RestaurantCacheWarmer {
+
+    private static final String WARMER_GROUP = "restaurant-cache-warmer";
+
+    private final KakaoSearchApiService kakaoSearchApiService;
+    private final UniversityRepository universityRepository;
+    private final RedisLeaseCoordinator leaseCoordinator;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final long initialDelaySeconds;
+    private final long intervalMinutes;
+    private final long callIntervalMillis;
+    private final long timeoutMillis;
+    private final Duration membershipTtl;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "restaurant-cache-warmer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicInteger total = new AtomicInteger();
+    private final AtomicInteger completed = new AtomicInteger();
+
+    public RestaurantCacheWarmer(KakaoSearchApiService kakaoSearchApiService,
+                                 UniversityRepository universityRepository,
+                                 RedisLeaseCoordinator leaseCoordinator,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${kakao.search.warm.enabled:true}") boolean enabled,
+                                 @Value("${kakao.search.warm.initial-delay-seconds:60}") long initialDelaySeconds,
+                                 @Value("${kakao.search.warm.interval-minutes:60}") long intervalMinutes,
+                                 @Value("${kakao.search.warm.rate-per-second:2}") double ratePerSecond,
+                                 @Value("${kakao.search.warm.timeout-ms:5000}") long timeoutMillis) {
+        this.kakaoSearchApiService = kakaoSearchApiService;
+        this.universityRepository = universityRepository;
+        this.leaseCoordinator = leaseCoordinator;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.initialDelaySeconds = initialDelaySeconds;
+        this.intervalMinutes = intervalMinutes;
+        this.callIntervalMillis = (long) Math.ceil(1000 / ratePerSecond);
+        this.timeoutMillis = timeoutMillis;
+        // 모든 서버가 주기마다 예열하므로 두 주기 안에 예열한 서버를 살아 있는 서버로 본다.
+        this.membershipTtl = Duration.ofMinutes(intervalMinutes).multipliedBy(2);
+    }
+
+    @PostConstruct
+    public void start() {
+        Gauge.builder("kakao.search.warm.total", total, AtomicInteger::get).register(meterRegistry);
+        Gauge.builder("kakao.search.warm.completed", completed, AtomicInteger::get).register(meterRegistry);
+        Gauge.builder("kakao.search.warm.progress", this, RestaurantCacheWarmer::getProgress).register(meterRegistry);
+        if (enabled) {
+            scheduler.scheduleWithFixedDelay(this::warmAll, initialDelaySeconds,
+                    TimeUnit.MINUTES.toSeconds(intervalMinutes), TimeUnit.SECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    public void warmAll() {
+        List<String> universityNames;
+        try {
+            universityNames = orderByRecentHits(universityRepository.findAll());
+        } catch (Exception e) {
+            log.error("맛집 캐시 예열 대상 대학을 조회하지 못했습니다. {}", e.getMessage());
+            return;
+        }
+        total.set(universityNames.size());
+        completed.set(0);
+
+        int refreshed = 0;
+        long nextCallAt = System.currentTimeMillis();
+        for (String universityName : universityNames) {
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            try {
+                long wait = nextCallAt - System.currentTimeMillis();
+                if (wait > 0) {
+                    Thread.sleep(wait);
+                }
+                if (kakaoSearchApiService.warm(universityName, timeoutMillis)) {
+                    refreshed++;
+                    nextCallAt = nextCallAt();
+                    meterRegistry.counter("kakao.search.warm.calls", "result", "success").increment();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException | TimeoutException | RuntimeException e) {
+                nextCallAt = nextCallAt();
+                meterRegistry.counter("kakao.search.warm.calls", "result", "failure").increment();
+                log.warn("맛집 캐시 예열에 실패했습니다. university: {}, {}", universityName, e.getMessage());
+            }
+            completed.incrementAndGet();
+        }
+        log.info("맛집 캐시 예열을 마쳤습니다. 대학 {}곳 중 {}곳 갱신", universityNames.size(), refreshed);
+    }
+
+    private long nextCallAt() {
+        int instances = leaseCoordinator.heartbeatMember(WARMER_GROUP, membershipTtl);
+        return System.currentTimeMillis() + callIntervalMillis * instances;
+    }
+
+    public double getProgress() {
+        int count = total.get();
+        return count == 0 ? 1.0 : (double) completed.get() / count;
+    }
+
+    private List<String> orderByRecentHits(List<University> universities) {
+        Map<String, Long> hits = kakaoSearchApiService.drainRecentHits();
+        return universities.stream()
+                .map(University::getName)
+                .distinct()
+                .sorted(Comparator.comparingLong((String name) -> hits.getOrDefault(name, 0L)).reversed())
+                .toList();
+    }
+}
@@ -0,0 +1,56 @@
+package yerong.wedle.category.restaurant.service;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import yerong.wedle.category.restaurant.dto.RestaurantResponse;
+import yerong.wedle.common.utils.GeoGridIndex;
+
+/**
+ * Kakao에서 받은 맛집을 대학별 격자 인덱스로 보관해 지도 이동에 따른 범위 조회를 외부 호출 없이 처리한다.
+ * 검색 페이지 수별로 가장 최근 결과만 두고 그 합집합으로 인덱스를 다시 만들므로, 사라진 장소가 계속 쌓이지 않는다.
+ */
+@Component
+public class RestaurantGeoIndex {
+
+    private final double cellDegrees;
+    private final Map<String, Map<Integer, List<RestaurantResponse>>> results = new ConcurrentHashMap<>();
+    private final Map<String, GeoGridIndex<RestaurantResponse>> indexes = new ConcurrentHashMap<>();
+
+    public RestaurantGeoIndex(@Value("${restaurant.geo.cell-degrees:0.005}") double cellDegrees) {
+        this.cellDegrees = cellDegrees;
+    }
+
+    public void index(String universityName, int pages, List<RestaurantResponse> restaurants) {
+        results.compute(universityName, (name, byPages) -> {
+            Map<Integer, List<RestaurantResponse>> updated = byPages != null ? new HashMap<>(byPages) : new HashMap<>();
+            updated.put(pages, restaurants);
+
+            // 같은 장소는 더 많은 페이지를 받은 결과를 우선한다.
+            Map<String, RestaurantResponse> merged = new LinkedHashMap<>();
+            updated.entrySet().stream()
+                    .sorted(Map.Entry.<Integer, List<RestaurantResponse>>comparingByKey().reversed())
+                    .forEach(entry -> entry.getValue().forEach(restaurant ->
+                            merged.putIfAbsent(placeKey(restaurant), restaurant)));
+            indexes.put(name, new GeoGridIndex<>(List.copyOf(merged.values()),
+                    RestaurantResponse::getX, RestaurantResponse::getY, cellDegrees));
+            return updated;
+        });
+    }
+
+    public Optional<GeoGridIndex<RestaurantResponse>> find(String universityName) {
+        return Optional.ofNullable(indexes.get(universityName));
+    }
+
+    private static String placeKey(RestaurantResponse restaurant) {
+        if (restaurant.getPlaceId() != null) {
+            return restaurant.getPlaceId();
+        }
+        return restaurant.getName() + "|" + restaurant.getX() + "|" + restaurant.getY();
+    }
+}
@@ -1,13 +1,74 @@
 package yerong.wedle.common.config;
 
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
+import yerong.wedle.common.http.OutboundResilienceInterceptor;
 
 @Configuration
 public class AppConfig {
+
+    @Value("${http.client.max-connections:100}")
+    private int maxConnections;
+
+    @Value("${http.client.max-connections-per-host:20}")
+    private int maxConnectionsPerHost;
+
+    @Value("${http.client.keep-alive-seconds:30}")
+    private long keepAliveSeconds;
+
+    /**
+     * 외부 API 호출용 커넥션 풀. 연결 타임아웃은 호스트별 설정을 따르고, 유휴 연결은 keep-alive 시간이 지나면 정리한다.
+     */
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient outboundHttpClient(OutboundResilienceInterceptor resilienceInterceptor) {
+        TimeValue keepAlive = TimeValue.ofSeconds(keepAliveSeconds);
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerHost)
+                .setConnectionConfigResolver(route -> ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(resilienceInterceptor
+                                .getPolicy(route.getTargetHost().getHostName()).connectTimeoutMillis()))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(5))
+                        .build())
+                .build();
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setKeepAliveStrategy((response, context) -> {
+                    TimeValue duration = DefaultConnectionKeepAliveStrategy.INSTANCE
+                            .getKeepAliveDuration(response, context);
+                    return duration.compareTo(keepAlive) < 0 ? duration : keepAlive;
+                })
+                .evictExpiredConnections()
+                .evictIdleConnections(keepAlive)
+                // 타임아웃 뒤 같은 요청을 다시 보내면 지연이 배로 늘어나므로 재시도하지 않는다.
+                .disableAutomaticRetries()
+                .build();
+    }
+
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(CloseableHttpClient outboundHttpClient,
+                                     OutboundResilienceInterceptor resilienceInterceptor) {
+        HttpComponentsClientHttpRequestFactory requestFactory =
+                new HttpComponentsClientHttpRequestFactory(outboundHttpClient);
+        requestFactory.setHttpContextFactory((method, uri) -> {
+            HttpClientContext context = HttpClientContext.create();
+            context.setRequestConfig(resilienceInterceptor.getPolicy(uri.getHost()).toRequestConfig());
+            return context;
+        });
+        RestTemplate restTemplate = new RestTemplate(requestFactory);
+        restTemplate.getInterceptors().add(resilienceInterceptor);
+        return restTemplate;
     }
 }
@@ -1,13 +1,19 @@
 package yerong.wedle.common.config;
 
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import yerong.wedle.common.ratelimit.RateLimitInterceptor;
 
+@RequiredArgsConstructor
 @Configuration
 public class WebMvcConfig implements WebMvcConfigurer {
 
+    private final RateLimitInterceptor rateLimitInterceptor;
+
     @Value("${cors.allowed-origins}")
     private String url;
 
@@ -19,4 +25,9 @@ public class WebMvcConfig implements WebMvcConfigurer {
                 .allowedOrigins(url, "https://appleid.apple.com")
                 .maxAge(3600);
     }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(rateLimitInterceptor);
+    }
 }
@@ -6,6 +6,7 @@ public enum ResponseCode {
     FORBIDDEN("403", "접근이 거부되었습니다."),
     NOT_FOUND("404", "정보를 찾을 수 없습니다."),
     INTERNAL_SERVER_ERROR("500", "서버 오류가 발생했습니다."),
+    TOO_MANY_REQUESTS("429", "요청이 너무 많습니다. 잠시 후 다시 시도해주세요."),
 
     // Member
     MEMBER_NOT_FOUND("404", "회원이 존재하지 않습니다."),
@@ -17,11 +18,13 @@ public enum ResponseCode {
     NOTIFICATION_NOT_FOUND("404", "알림이 존재하지 않습니다."),
     DUPLICATION_NOTIFICATION("409", "이미 존재하는 알림입니다."),
     NOTIFICATION_DATE_OUT_OF_RANGE("400", "알림 날짜가 이벤트 기간에 포함되지 않습니다."),
+    NOTIFICATION_DATES_REQUIRED("400", "알림 날짜 또는 알림 규칙을 입력해주세요."),
 
     // OAuth
     INVALID_REFRESH_TOKEN("400", "유효하지 않은 Refresh Token입니다."),
     INVALID_TOKEN("400", "유효하지 않은 Access Token입니다."),
     INVALID_AUTHORIZATION_HEADER("400", "유효하지 않은 Authorization Header 입니다."),
+    INVALID_APPLE_IDENTITY_TOKEN("401", "유효하지 않은 Apple Identity Token입니다."),
     OAUTH_ERROR("500", "OAuth 처리 중 오류가 발생했습니다."),
 
     // Banner
@@ -32,6 +35,8 @@ public enum ResponseCode {
 
     //Restaurant
     RESTAURANT_NOT_FOUND("404", "맛집을 찾을 수 없습니다."),
+    RESTAURANT_SEARCH_UNAVAILABLE("503", "맛집 검색을 일시적으로 사용할 수 없습니다. 잠시 후 다시 시도해 주세요."),
+    INVALID_RESTAURANT_AREA("400", "맛집 검색 범위가 올바르지 않습니다."),
 
     //Department
     DEPARTMENT_NOT_FOUND("404", "학과를 찾을 수 없습니다."),
@@ -41,6 +46,8 @@ public enum ResponseCode {
 
     // Calender Event
     CALENDAR_EVENT_NOT_FOUND("404", "일정을 찾을 수 없습니다."),
+    INVALID_CALENDAR_RANGE("400", "조회 기간이 올바르지 않습니다."),
+    CALENDAR_FEED_NOT_FOUND("404", "캘린더 구독 주소를 찾을 수 없습니다."),
 
     // Admission
     ADMISSION_NOT_FOUND("404", "입결 이미지 정보를 찾을 수 없습니다."),
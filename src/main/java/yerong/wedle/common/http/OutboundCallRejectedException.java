@@ -0,0 +1,14 @@
+package yerong.wedle.common.http;
+
+import org.springframework.web.client.RestClientException;
+
+/**
+ * 회로가 열려 있거나 동시 호출 한도를 넘어 외부 호출을 보내지 않았을 때 던진다.
+ * RestClientException을 상속하므로 기존 외부 호출 오류 처리에서 함께 처리된다.
+ */
+public class OutboundCallRejectedException extends RestClientException {
+
+    public OutboundCallRejectedException(String message) {
+        super(message);
+    }
+}
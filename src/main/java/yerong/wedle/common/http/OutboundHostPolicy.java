@@ -0,0 +1,42 @@
+package yerong.wedle.common.http;
+
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.core.env.Environment;
+
+/**
+ * 호스트별 외부 호출 설정. http.client.hosts.{host}.* 값이 없으면 http.client.* 기본값을 사용한다.
+ */
+public record OutboundHostPolicy(long connectTimeoutMillis,
+                                 long readTimeoutMillis,
+                                 long connectionRequestTimeoutMillis,
+                                 int maxConcurrentCalls,
+                                 long bulkheadWaitMillis,
+                                 int failureThreshold,
+                                 long openMillis) {
+
+    private static final String PREFIX = "http.client.";
+
+    public static OutboundHostPolicy resolve(Environment environment, String host) {
+        return new OutboundHostPolicy(
+                property(environment, host, "connect-timeout-ms", Long.class, 1000L),
+                property(environment, host, "read-timeout-ms", Long.class, 3000L),
+                property(environment, host, "connection-request-timeout-ms", Long.class, 500L),
+                property(environment, host, "max-concurrent-calls", Integer.class, 20),
+                property(environment, host, "bulkhead-wait-ms", Long.class, 0L),
+                property(environment, host, "failure-threshold", Integer.class, 5),
+                property(environment, host, "open-ms", Long.class, 30000L));
+    }
+
+    public RequestConfig toRequestConfig() {
+        return RequestConfig.custom()
+                .setConnectionRequestTimeout(Timeout.ofMilliseconds(connectionRequestTimeoutMillis))
+                .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMillis))
+                .build();
+    }
+
+    private static <T> T property(Environment environment, String host, String name, Class<T> type, T defaultValue) {
+        T value = environment.getProperty(PREFIX + "hosts." + host + "." + name, type);
+        return value != null ? value : environment.getProperty(PREFIX + name, type, defaultValue);
+    }
+}
@@ -0,0 +1,109 @@
+package yerong.wedle.common.http;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+
+/**
+ * 외부 호스트마다 동시 호출 수(bulkhead)와 회로 차단기를 둔다.
+ * 한도를 넘거나 회로가 열려 있으면 요청을 보내지 않고 바로 실패해 Tomcat 스레드가 느린 외부 API에 묶이지 않게 한다.
+ * 연결 오류, 타임아웃, 5xx와 429 응답을 실패로 집계한다.
+ */
+@Slf4j
+@Component
+public class OutboundResilienceInterceptor implements ClientHttpRequestInterceptor {
+
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, HostGuard> guards = new ConcurrentHashMap<>();
+
+    public OutboundResilienceInterceptor(Environment environment, MeterRegistry meterRegistry) {
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public OutboundHostPolicy getPolicy(String host) {
+        return guard(host).policy();
+    }
+
+    public CircuitBreaker.State getState(String host) {
+        return guard(host).circuitBreaker().getState();
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        String host = request.getURI().getHost();
+        HostGuard guard = guard(host);
+        if (!acquire(guard.bulkhead(), guard.policy().bulkheadWaitMillis())) {
+            reject(host, "bulkhead_full");
+            throw new OutboundCallRejectedException(host + " 동시 호출 한도를 넘었습니다.");
+        }
+        try {
+            if (!guard.circuitBreaker().tryAcquire()) {
+                reject(host, "circuit_open");
+                throw new OutboundCallRejectedException(host + " 호출이 차단되어 있습니다.");
+            }
+            ClientHttpResponse response;
+            try {
+                response = execution.execute(request, body);
+            } catch (IOException | RuntimeException e) {
+                onFailure(host, guard);
+                throw e;
+            }
+            int status = response.getStatusCode().value();
+            if (status >= 500 || status == 429) {
+                onFailure(host, guard);
+            } else {
+                guard.circuitBreaker().onSuccess();
+            }
+            return response;
+        } finally {
+            guard.bulkhead().release();
+        }
+    }
+
+    private HostGuard guard(String host) {
+        return guards.computeIfAbsent(host, key -> {
+            OutboundHostPolicy policy = OutboundHostPolicy.resolve(environment, key);
+            return new HostGuard(policy, new Semaphore(policy.maxConcurrentCalls()),
+                    new CircuitBreaker(policy.failureThreshold(), policy.openMillis()));
+        });
+    }
+
+    private boolean acquire(Semaphore bulkhead, long waitMillis) {
+        if (waitMillis <= 0) {
+            return bulkhead.tryAcquire();
+        }
+        try {
+            return bulkhead.tryAcquire(waitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void onFailure(String host, HostGuard guard) {
+        if (guard.circuitBreaker().onFailure()) {
+            log.warn("{} 호출 실패가 이어져 {}ms 동안 호출을 차단합니다.", host, guard.policy().openMillis());
+            meterRegistry.counter("http.client.circuit.opened", "host", host).increment();
+        }
+    }
+
+    private void reject(String host, String reason) {
+        meterRegistry.counter("http.client.rejected", "host", host, "reason", reason).increment();
+    }
+
+    private record HostGuard(OutboundHostPolicy policy, Semaphore bulkhead, CircuitBreaker circuitBreaker) {
+    }
+}
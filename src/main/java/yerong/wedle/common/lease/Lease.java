@@ -0,0 +1,37 @@
+package yerong.wedle.common.lease;
+
+import java.time.Duration;
+import java.util.concurrent.ScheduledFuture;
+import lombok.Getter;
+
+@Getter
+public class Lease {
+
+    private final String name;
+    private final String owner;
+    private final long fencingToken;
+    private final Duration ttl;
+    private volatile boolean lost;
+    private volatile long renewedAtMillis;
+    private ScheduledFuture<?> heartbeat;
+
+    Lease(String name, String owner, long fencingToken, Duration ttl) {
+        this.name = name;
+        this.owner = owner;
+        this.fencingToken = fencingToken;
+        this.ttl = ttl;
+        this.renewedAtMillis = System.currentTimeMillis();
+    }
+
+    void renewed() {
+        this.renewedAtMillis = System.currentTimeMillis();
+    }
+
+    void markLost() {
+        this.lost = true;
+    }
+
+    void setHeartbeat(ScheduledFuture<?> heartbeat) {
+        this.heartbeat = heartbeat;
+    }
+}
@@ -0,0 +1,11 @@
+package yerong.wedle.common.lease;
+
+/**
+ * 점유를 잃은 뒤에 점유가 필요한 쓰기를 시도하면 발생한다. 트랜잭션 안이면 롤백된다.
+ */
+public class LeaseLostException extends IllegalStateException {
+
+    public LeaseLostException(Lease lease) {
+        super("작업 점유를 잃었습니다. name: " + lease.getName() + ", fencingToken: " + lease.getFencingToken());
+    }
+}
@@ -0,0 +1,230 @@
+package yerong.wedle.common.lease;
+
+import jakarta.annotation.PreDestroy;
+import java.net.InetAddress;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Redis 기반 작업 점유 관리.
+ * 점유에 성공하면 단조 증가하는 fencing token을 발급하고, TTL의 1/3 주기로 만료 시간을 연장한다.
+ * 연장에 실패하거나 더 큰 fencing token이 발급되면 점유를 잃은 것으로 보고 작업을 중단해야 한다.
+ */
+@Slf4j
+@Component
+public class RedisLeaseCoordinator {
+
+    private static final String LEASE_KEY_PREFIX = "lease:";
+    private static final String FENCE_KEY_SUFFIX = ":fence";
+    private static final String MEMBERS_KEY_PREFIX = "lease:members:";
+
+    private static final RedisScript<Long> ACQUIRE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('set', KEYS[1], ARGV[1], 'NX', 'PX', ARGV[2]) then "
+                    + "return redis.call('incr', KEYS[2]) else return 0 end",
+            Long.class);
+    private static final RedisScript<Long> RENEW_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('pexpire', KEYS[1], ARGV[2]) "
+                    + "else return 0 end",
+            Long.class);
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final ScheduledExecutorService heartbeatExecutor;
+    @Getter
+    private final String instanceId;
+
+    public RedisLeaseCoordinator(RedisTemplate<String, Object> redisTemplate) {
+        this.redisTemplate = redisTemplate;
+        this.instanceId = hostName() + ":" + UUID.randomUUID().toString().substring(0, 8);
+        this.heartbeatExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "lease-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public Optional<Lease> tryAcquire(String name, Duration ttl) {
+        String owner = instanceId + ":" + UUID.randomUUID();
+        Long fencingToken;
+        try {
+            fencingToken = redisTemplate.execute(ACQUIRE_SCRIPT,
+                    List.of(LEASE_KEY_PREFIX + name, LEASE_KEY_PREFIX + name + FENCE_KEY_SUFFIX),
+                    owner, String.valueOf(ttl.toMillis()));
+        } catch (Exception e) {
+            log.warn("작업 점유에 실패했습니다. name: {}, {}", name, e.getMessage());
+            return Optional.empty();
+        }
+        if (fencingToken == null || fencingToken == 0L) {
+            return Optional.empty();
+        }
+
+        Lease lease = new Lease(name, owner, fencingToken, ttl);
+        long interval = Math.max(1, ttl.toMillis() / 3);
+        lease.setHeartbeat(heartbeatExecutor.scheduleWithFixedDelay(() -> renew(lease), interval, interval,
+                TimeUnit.MILLISECONDS));
+        log.debug("작업을 점유했습니다. name: {}, fencingToken: {}", name, fencingToken);
+        return Optional.of(lease);
+    }
+
+    /**
+     * 점유를 잃지 않았고, 이후 다른 인스턴스에 더 큰 fencing token이 발급되지 않았는지 확인한다.
+     */
+    public boolean isValid(Lease lease) {
+        if (lease.isLost()) {
+            return false;
+        }
+        try {
+            Object fence = redisTemplate.opsForValue().get(LEASE_KEY_PREFIX + lease.getName() + FENCE_KEY_SUFFIX);
+            if (fence != null && Long.parseLong(fence.toString()) != lease.getFencingToken()) {
+                lease.markLost();
+                return false;
+            }
+            return true;
+        } catch (Exception e) {
+            return System.currentTimeMillis() - lease.getRenewedAtMillis() < lease.getTtl().toMillis();
+        }
+    }
+
+    /**
+     * 점유가 필요한 쓰기 직전에 호출한다. 점유를 잃었으면 {@link LeaseLostException}을 던진다.
+     */
+    public void checkValid(Lease lease) {
+        if (!isValid(lease)) {
+            throw new LeaseLostException(lease);
+        }
+    }
+
+    /**
+     * 트랜잭션 안에서 점유가 필요한 쓰기 전에 호출한다. 지금 점유를 확인하고, 커밋 직전에 다시 확인해 잃었으면 롤백한다.
+     */
+    public void fence(Collection<Lease> leases) {
+        leases.forEach(this::checkValid);
+        if (!leases.isEmpty() && TransactionSynchronizationManager.isSynchronizationActive()) {
+            List<Lease> fenced = List.copyOf(leases);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    fenced.forEach(RedisLeaseCoordinator.this::checkValid);
+                }
+            });
+        }
+    }
+
+    public void release(Lease lease) {
+        lease.markLost();
+        if (lease.getHeartbeat() != null) {
+            lease.getHeartbeat().cancel(false);
+        }
+        try {
+            redisTemplate.execute(RELEASE_SCRIPT, List.of(LEASE_KEY_PREFIX + lease.getName()), lease.getOwner());
+        } catch (Exception e) {
+            log.warn("작업 점유 해제에 실패했습니다. TTL 이후 만료됩니다. name: {}, {}", lease.getName(), e.getMessage());
+        }
+    }
+
+    /**
+     * 점유에 성공한 인스턴스 한 곳에서만 작업을 실행한다. 점유하지 못하면 false를 반환한다.
+     * 트랜잭션 안에서 호출되면 커밋 직전에 점유를 다시 확인해 잃었으면 롤백하고, 커밋이나 롤백이 끝난 뒤에 해제한다.
+     */
+    public boolean runExclusively(String name, Duration ttl, Consumer<Lease> job) {
+        Optional<Lease> acquired = tryAcquire(name, ttl);
+        if (acquired.isEmpty()) {
+            log.debug("다른 인스턴스에서 실행 중인 작업입니다. name: {}", name);
+            return false;
+        }
+        Lease lease = acquired.get();
+        boolean releaseAfterCompletion = false;
+        try {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void beforeCommit(boolean readOnly) {
+                        checkValid(lease);
+                    }
+
+                    @Override
+                    public void afterCompletion(int status) {
+                        release(lease);
+                    }
+                });
+                releaseAfterCompletion = true;
+            }
+            job.accept(lease);
+            return true;
+        } finally {
+            if (!releaseAfterCompletion) {
+                release(lease);
+            }
+        }
+    }
+
+    /**
+     * 그룹에 현재 인스턴스가 살아 있음을 기록하고, TTL 안에 기록한 인스턴스 수를 반환한다.
+     */
+    public int heartbeatMember(String group, Duration ttl) {
+        String key = MEMBERS_KEY_PREFIX + group;
+        long now = System.currentTimeMillis();
+        try {
+            redisTemplate.opsForZSet().add(key, instanceId, now);
+            redisTemplate.opsForZSet().removeRangeByScore(key, 0, now - ttl.toMillis());
+            redisTemplate.expire(key, ttl.multipliedBy(2));
+            Long count = redisTemplate.opsForZSet().zCard(key);
+            return count == null ? 1 : Math.max(1, count.intValue());
+        } catch (Exception e) {
+            log.warn("인스턴스 상태 기록에 실패했습니다. group: {}, {}", group, e.getMessage());
+            return 1;
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        heartbeatExecutor.shutdownNow();
+    }
+
+    private void renew(Lease lease) {
+        if (lease.isLost()) {
+            return;
+        }
+        try {
+            Long renewed = redisTemplate.execute(RENEW_SCRIPT, List.of(LEASE_KEY_PREFIX + lease.getName()),
+                    lease.getOwner(), String.valueOf(lease.getTtl().toMillis()));
+            if (renewed == null || renewed == 0L) {
+                log.warn("작업 점유를 잃었습니다. name: {}, fencingToken: {}", lease.getName(), lease.getFencingToken());
+                lease.markLost();
+                lease.getHeartbeat().cancel(false);
+                return;
+            }
+            lease.renewed();
+        } catch (Exception e) {
+            if (System.currentTimeMillis() - lease.getRenewedAtMillis() >= lease.getTtl().toMillis()) {
+                lease.markLost();
+            }
+            log.warn("작업 점유 연장에 실패했습니다. name: {}, {}", lease.getName(), e.getMessage());
+        }
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "unknown";
+        }
+    }
+}
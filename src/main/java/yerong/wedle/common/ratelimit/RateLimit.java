@@ -0,0 +1,19 @@
+package yerong.wedle.common.ratelimit;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RateLimit {
+
+    String name();
+
+    int capacity();
+
+    int refillPerMinute();
+
+    RateLimitKeyType key() default RateLimitKeyType.MEMBER;
+}
@@ -0,0 +1,28 @@
+package yerong.wedle.common.ratelimit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.RedisTemplate;
+
+@Configuration
+public class RateLimitConfig {
+
+    @Value("${rate-limit.mode:local}")
+    private String mode;
+
+    @Value("${rate-limit.stripes:64}")
+    private int stripes;
+
+    @Value("${rate-limit.slots-per-stripe:1024}")
+    private int slotsPerStripe;
+
+    @Bean
+    public RateLimiter rateLimiter(RedisTemplate<String, Object> redisTemplate) {
+        RateLimiter localRateLimiter = new StripedTokenBucketRateLimiter(stripes, slotsPerStripe);
+        if ("redis".equalsIgnoreCase(mode)) {
+            return new RedisTokenBucketRateLimiter(redisTemplate, localRateLimiter);
+        }
+        return localRateLimiter;
+    }
+}
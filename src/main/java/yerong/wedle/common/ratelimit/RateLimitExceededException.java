@@ -0,0 +1,10 @@
+package yerong.wedle.common.ratelimit;
+
+import yerong.wedle.common.exception.CustomException;
+import yerong.wedle.common.exception.ResponseCode;
+
+public class RateLimitExceededException extends CustomException {
+    public RateLimitExceededException() {
+        super(ResponseCode.TOO_MANY_REQUESTS);
+    }
+}
@@ -0,0 +1,72 @@
+package yerong.wedle.common.ratelimit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+@Component
+@RequiredArgsConstructor
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private final RateLimiter rateLimiter;
+    private final MeterRegistry meterRegistry;
+    private final Map<Method, RateLimitPolicy> policies = new ConcurrentHashMap<>();
+    private final Map<Method, Boolean> unlimitedMethods = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        RateLimitPolicy policy = resolvePolicy(handlerMethod.getMethod());
+        if (policy == null) {
+            return true;
+        }
+
+        if (rateLimiter.tryAcquire(policy, resolveKey(policy, request))) {
+            policy.getAllowedCounter().increment();
+            return true;
+        }
+        policy.getRejectedCounter().increment();
+        response.setHeader("Retry-After", Long.toString(policy.retryAfterSeconds()));
+        throw new RateLimitExceededException();
+    }
+
+    private RateLimitPolicy resolvePolicy(Method method) {
+        if (unlimitedMethods.containsKey(method)) {
+            return null;
+        }
+        RateLimitPolicy policy = policies.get(method);
+        if (policy != null) {
+            return policy;
+        }
+        RateLimit rateLimit = method.getAnnotation(RateLimit.class);
+        if (rateLimit == null) {
+            unlimitedMethods.put(method, Boolean.TRUE);
+            return null;
+        }
+        return policies.computeIfAbsent(method, key -> new RateLimitPolicy(rateLimit, meterRegistry));
+    }
+
+    private String resolveKey(RateLimitPolicy policy, HttpServletRequest request) {
+        if (policy.getKeyType() == RateLimitKeyType.MEMBER) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.isAuthenticated()
+                    && !(authentication instanceof AnonymousAuthenticationToken)) {
+                return authentication.getName();
+            }
+        }
+        // X-Forwarded-For는 server.forward-headers-strategy로 신뢰하는 프록시가 붙인 값만 반영된다.
+        return request.getRemoteAddr();
+    }
+}
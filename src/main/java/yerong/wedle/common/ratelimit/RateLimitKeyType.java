@@ -0,0 +1,6 @@
+package yerong.wedle.common.ratelimit;
+
+public enum RateLimitKeyType {
+    IP,
+    MEMBER
+}
@@ -0,0 +1,37 @@
+package yerong.wedle.common.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+
+@Getter
+public class RateLimitPolicy {
+
+    private final String name;
+    private final long id;
+    private final int capacity;
+    private final double refillPerNano;
+    private final RateLimitKeyType keyType;
+    private final Counter allowedCounter;
+    private final Counter rejectedCounter;
+
+    public RateLimitPolicy(RateLimit rateLimit, MeterRegistry meterRegistry) {
+        this.name = rateLimit.name();
+        this.id = name.hashCode();
+        this.capacity = rateLimit.capacity();
+        this.refillPerNano = rateLimit.refillPerMinute() / 60_000_000_000d;
+        this.keyType = rateLimit.key();
+        this.allowedCounter = Counter.builder("rate_limit.decisions")
+                .tag("policy", name)
+                .tag("outcome", "allowed")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("rate_limit.decisions")
+                .tag("policy", name)
+                .tag("outcome", "rejected")
+                .register(meterRegistry);
+    }
+
+    public long retryAfterSeconds() {
+        return Math.max(1, (long) Math.ceil(1 / (refillPerNano * 1_000_000_000d)));
+    }
+}
@@ -0,0 +1,6 @@
+package yerong.wedle.common.ratelimit;
+
+public interface RateLimiter {
+
+    boolean tryAcquire(RateLimitPolicy policy, String key);
+}
@@ -0,0 +1,47 @@
+package yerong.wedle.common.ratelimit;
+
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+@Slf4j
+@RequiredArgsConstructor
+public class RedisTokenBucketRateLimiter implements RateLimiter {
+
+    private static final String KEY_PREFIX = "rate-limit:";
+    private static final RedisScript<Long> TOKEN_BUCKET_SCRIPT = new DefaultRedisScript<>(
+            "local capacity = tonumber(ARGV[1]) "
+                    + "local refill_per_ms = tonumber(ARGV[2]) "
+                    + "local time = redis.call('TIME') "
+                    + "local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000) "
+                    + "local bucket = redis.call('HMGET', KEYS[1], 'tokens', 'ts') "
+                    + "local tokens = tonumber(bucket[1]) or capacity "
+                    + "local ts = tonumber(bucket[2]) or now "
+                    + "tokens = math.min(capacity, tokens + math.max(0, now - ts) * refill_per_ms) "
+                    + "local allowed = 0 "
+                    + "if tokens >= 1 then tokens = tokens - 1 allowed = 1 end "
+                    + "redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', tostring(now)) "
+                    + "redis.call('PEXPIRE', KEYS[1], math.ceil(capacity / refill_per_ms) + 1000) "
+                    + "return allowed",
+            Long.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RateLimiter fallback;
+
+    @Override
+    public boolean tryAcquire(RateLimitPolicy policy, String key) {
+        try {
+            Long allowed = redisTemplate.execute(TOKEN_BUCKET_SCRIPT,
+                    List.of(KEY_PREFIX + policy.getName() + ":" + key),
+                    Integer.toString(policy.getCapacity()),
+                    Double.toString(policy.getRefillPerNano() * 1_000_000d));
+            return allowed != null && allowed == 1L;
+        } catch (Exception e) {
+            log.warn("Redis 요청 제한 처리에 실패하여 로컬 제한으로 대체합니다. {}", e.getMessage());
+            return fallback.tryAcquire(policy, key);
+        }
+    }
+}
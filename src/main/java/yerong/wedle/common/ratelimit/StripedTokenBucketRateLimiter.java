@@ -0,0 +1,92 @@
+package yerong.wedle.common.ratelimit;
+
+/**
+ * 락 스트라이핑 토큰 버킷. 버킷 상태는 스트라이프별 원시 배열에 저장하므로 요청 처리 중 객체를 할당하지 않는다.
+ * 한 스트라이프의 탐색 구간이 가득 차면 가장 오래 사용되지 않은 버킷을 교체한다.
+ */
+public class StripedTokenBucketRateLimiter implements RateLimiter {
+
+    private static final int MAX_PROBES = 8;
+
+    private final Stripe[] stripes;
+    private final int stripeMask;
+
+    public StripedTokenBucketRateLimiter(int stripeCount, int slotsPerStripe) {
+        int count = Integer.highestOneBit(Math.max(1, stripeCount - 1) << 1);
+        this.stripes = new Stripe[count];
+        this.stripeMask = count - 1;
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe(Integer.highestOneBit(Math.max(MAX_PROBES, slotsPerStripe - 1) << 1));
+        }
+    }
+
+    @Override
+    public boolean tryAcquire(RateLimitPolicy policy, String key) {
+        return tryAcquire(hash(policy.getId(), key), policy.getCapacity(), policy.getRefillPerNano(), System.nanoTime());
+    }
+
+    boolean tryAcquire(long keyHash, int capacity, double refillPerNano, long now) {
+        Stripe stripe = stripes[(int) (keyHash >>> 32) & stripeMask];
+        synchronized (stripe) {
+            int slot = stripe.find(keyHash, now, capacity);
+            double tokens = Math.min(capacity,
+                    stripe.tokens[slot] + (now - stripe.lastRefillNanos[slot]) * refillPerNano);
+            stripe.lastRefillNanos[slot] = now;
+            if (tokens < 1) {
+                stripe.tokens[slot] = tokens;
+                return false;
+            }
+            stripe.tokens[slot] = tokens - 1;
+            return true;
+        }
+    }
+
+    private static long hash(long seed, String key) {
+        long hash = 0xcbf29ce484222325L ^ seed;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash == 0 ? 1 : hash;
+    }
+
+    private static final class Stripe {
+
+        private final long[] keys;
+        private final double[] tokens;
+        private final long[] lastRefillNanos;
+        private final int mask;
+
+        private Stripe(int slots) {
+            this.keys = new long[slots];
+            this.tokens = new double[slots];
+            this.lastRefillNanos = new long[slots];
+            this.mask = slots - 1;
+        }
+
+        private int find(long keyHash, long now, int capacity) {
+            int start = (int) keyHash & mask;
+            int victim = start;
+            for (int probe = 0; probe < MAX_PROBES; probe++) {
+                int slot = (start + probe) & mask;
+                if (keys[slot] == keyHash) {
+                    return slot;
+                }
+                if (keys[slot] == 0) {
+                    victim = slot;
+                    break;
+                }
+                if (lastRefillNanos[slot] - lastRefillNanos[victim] < 0) {
+                    victim = slot;
+                }
+            }
+            keys[victim] = keyHash;
+            tokens[victim] = capacity;
+            lastRefillNanos[victim] = now;
+            return victim;
+        }
+    }
+}
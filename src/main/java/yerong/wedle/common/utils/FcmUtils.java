@@ -2,7 +2,8 @@ package yerong.wedle.common.utils;
 
 import com.google.firebase.messaging.*;
 
-import java.util.Date;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 
 import lombok.AccessLevel;
@@ -13,66 +14,71 @@ import lombok.extern.slf4j.Slf4j;
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class FcmUtils {
 
-    private static final int FCM_PUSH_LIMIT_SIZE = 500;
-    private static final long ONE_WEEK_IN_SECONDS = 60 * 60 * 24 * 7;
-    private static final long EXPIRED_TIME_FOR_UNIX = new Date().getTime() / 1000 + ONE_WEEK_IN_SECONDS;
+    public static final int FCM_PUSH_LIMIT_SIZE = 500;
+    public static final int FCM_TOPIC_LIMIT_SIZE = 1000;
 
-    public static void broadCast(final List<String> registrationTokens, String title, String body) {
-        limitSizeValidate(registrationTokens);
-
-        MulticastMessage message = buildMessage(registrationTokens, title, body);
-
-        try {
-            BatchResponse response = FirebaseMessaging.getInstance().sendEachForMulticast(message);
-            pushSuccessValidate(registrationTokens, response);
-        } catch (FirebaseMessagingException e) {
-            log.error("FCM 메시지 전송 중 예외 발생: {}", e.getMessage(), e);
-            if (e.getErrorCode() != null) {
-                log.error("Error Code: {}", e.getErrorCode());
-            }
-        }
-    }
-
-    private static MulticastMessage buildMessage(List<String> registrationTokens, String title, String body) {
+    /**
+     * ttl은 발송 시점에 남은 유효 기간이며, APNs 만료 시각도 발송 시점을 기준으로 계산한다.
+     * highPriority는 Android HIGH, APNs 10 우선순위로 보낼지 여부다.
+     */
+    public static MulticastMessage buildMessage(List<String> registrationTokens, String title, String body,
+                                                boolean highPriority, String collapseKey, Duration ttl) {
         return MulticastMessage.builder()
                 .setNotification(Notification.builder()
                         .setTitle(title)
                         .setBody(body)
                         .build())
-                .setApnsConfig(ApnsConfig.builder()
-                        .setAps(Aps.builder()
-                                .setAlert(
-                                        ApsAlert.builder()
-                                                .setTitle(title)
-                                                .setBody(body)
-                                                .build()
-                                )
-                                .build())
-                        .putHeader("apns-expiration", Long.toString(EXPIRED_TIME_FOR_UNIX))
-                        .build())
+                .setAndroidConfig(buildAndroidConfig(highPriority, collapseKey, ttl))
+                .setApnsConfig(buildApnsConfig(title, body, highPriority, collapseKey, ttl))
                 .addAllTokens(registrationTokens)
                 .build();
     }
 
-    private static void limitSizeValidate(final List<String> registrationTokens) {
-        if (registrationTokens.size() > FCM_PUSH_LIMIT_SIZE) {
-            throw new IllegalArgumentException("FCM push 알림 수신자는 최대 500명입니다.");
+    public static Message buildTopicMessage(String topic, String title, String body,
+                                            boolean highPriority, String collapseKey, Duration ttl) {
+        return Message.builder()
+                .setNotification(Notification.builder()
+                        .setTitle(title)
+                        .setBody(body)
+                        .build())
+                .setAndroidConfig(buildAndroidConfig(highPriority, collapseKey, ttl))
+                .setApnsConfig(buildApnsConfig(title, body, highPriority, collapseKey, ttl))
+                .setTopic(topic)
+                .build();
+    }
+
+    private static AndroidConfig buildAndroidConfig(boolean highPriority, String collapseKey, Duration ttl) {
+        AndroidConfig.Builder builder = AndroidConfig.builder()
+                .setPriority(highPriority ? AndroidConfig.Priority.HIGH : AndroidConfig.Priority.NORMAL)
+                .setTtl(ttl.toMillis());
+        if (collapseKey != null) {
+            builder.setCollapseKey(collapseKey);
         }
+        return builder.build();
     }
 
-    private static void pushSuccessValidate(final List<String> registrationTokens, final BatchResponse response) {
-        log.info("{} messages were sent successfully.", response.getSuccessCount());
-        if (response.getFailureCount() > 0) {
-            log.error("{} messages failed to send.", response.getFailureCount());
-            response.getResponses().forEach(sendResponse -> {
-                if (!sendResponse.isSuccessful()) {
-                    String messageId = sendResponse.getMessageId();
-                    String errorMessage = sendResponse.getException() != null ? sendResponse.getException().getMessage() : "Unknown error";
+    private static ApnsConfig buildApnsConfig(String title, String body, boolean highPriority, String collapseKey,
+                                              Duration ttl) {
+        ApnsConfig.Builder builder = ApnsConfig.builder()
+                .setAps(Aps.builder()
+                        .setAlert(
+                                ApsAlert.builder()
+                                        .setTitle(title)
+                                        .setBody(body)
+                                        .build()
+                        )
+                        .build())
+                .putHeader("apns-expiration", Long.toString(Instant.now().plus(ttl).getEpochSecond()))
+                .putHeader("apns-priority", highPriority ? "10" : "5");
+        if (collapseKey != null) {
+            builder.putHeader("apns-collapse-id", collapseKey);
+        }
+        return builder.build();
+    }
 
-                    log.error("Failed to send message to token: {}. Error: {}",
-                            messageId != null ? messageId : "null", errorMessage);
-                }
-            });
+    public static void limitSizeValidate(final List<String> registrationTokens) {
+        if (registrationTokens.size() > FCM_PUSH_LIMIT_SIZE) {
+            throw new IllegalArgumentException("FCM push 알림 수신자는 최대 500명입니다.");
         }
     }
 }
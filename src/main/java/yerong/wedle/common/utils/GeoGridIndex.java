@@ -0,0 +1,130 @@
+package yerong.wedle.common.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 경도(x)와 위도(y)를 일정한 크기의 격자로 나눈 정적 공간 인덱스.
+ * 범위 조회는 범위와 겹치는 칸만 확인하고, 반경 조회는 반경을 감싸는 사각형을 조회한 뒤 실제 거리로 거른다.
+ * 만든 뒤에는 변경하지 않으므로 여러 스레드에서 동시에 조회해도 된다.
+ */
+public class GeoGridIndex<T> {
+
+    private static final double EARTH_RADIUS_METERS = 6_371_000;
+    private static final double METERS_PER_DEGREE = Math.PI * EARTH_RADIUS_METERS / 180;
+
+    private final List<T> items;
+    private final Function<T, Double> xOf;
+    private final Function<T, Double> yOf;
+    private final double cellDegrees;
+    private final Map<Long, List<T>> cells = new HashMap<>();
+
+    /**
+     * 좌표가 없는 항목은 색인하지 않는다.
+     */
+    public GeoGridIndex(List<T> items, Function<T, Double> xOf, Function<T, Double> yOf, double cellDegrees) {
+        this.xOf = xOf;
+        this.yOf = yOf;
+        this.cellDegrees = cellDegrees;
+        List<T> indexed = new ArrayList<>();
+        for (T item : items) {
+            Double x = xOf.apply(item);
+            Double y = yOf.apply(item);
+            if (x == null || y == null) {
+                continue;
+            }
+            indexed.add(item);
+            cells.computeIfAbsent(cellKey(cell(y), cell(x)), key -> new ArrayList<>()).add(item);
+        }
+        this.items = Collections.unmodifiableList(indexed);
+    }
+
+    /**
+     * 양 끝을 포함한 사각형 안의 항목을 반환한다.
+     */
+    public List<T> findWithin(double minX, double minY, double maxX, double maxY) {
+        long minRow = cell(minY);
+        long maxRow = cell(maxY);
+        long minCol = cell(minX);
+        long maxCol = cell(maxX);
+        List<T> result = new ArrayList<>();
+        // 범위가 색인된 칸 수보다 넓으면 칸을 하나씩 찾는 것보다 전체 칸을 훑는 편이 빠르다.
+        // 아주 넓은 범위에서 long 곱셈이 넘치지 않도록 칸 수는 double로 계산한다.
+        double span = ((double) maxRow - minRow + 1) * ((double) maxCol - minCol + 1);
+        if (span > cells.size()) {
+            for (List<T> cellItems : cells.values()) {
+                collect(cellItems, minX, minY, maxX, maxY, result);
+            }
+            return result;
+        }
+        for (long row = minRow; row <= maxRow; row++) {
+            for (long col = minCol; col <= maxCol; col++) {
+                List<T> cellItems = cells.get(cellKey(row, col));
+                if (cellItems != null) {
+                    collect(cellItems, minX, minY, maxX, maxY, result);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 중심에서 radiusMeters 이내의 항목을 가까운 순으로 반환한다.
+     */
+    public List<T> findNear(double x, double y, double radiusMeters) {
+        double latDelta = radiusMeters / METERS_PER_DEGREE;
+        double lonDelta = radiusMeters / (METERS_PER_DEGREE * Math.max(Math.cos(Math.toRadians(y)), 1e-6));
+        List<T> result = new ArrayList<>();
+        for (T item : findWithin(x - lonDelta, y - latDelta, x + lonDelta, y + latDelta)) {
+            if (distanceMeters(x, y, xOf.apply(item), yOf.apply(item)) <= radiusMeters) {
+                result.add(item);
+            }
+        }
+        result.sort(Comparator.comparingDouble(item -> distanceMeters(x, y, xOf.apply(item), yOf.apply(item))));
+        return result;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public int size() {
+        return items.size();
+    }
+
+    /**
+     * 두 좌표 사이의 거리(m). haversine 공식을 사용한다.
+     */
+    public static double distanceMeters(double x1, double y1, double x2, double y2) {
+        double lat1 = Math.toRadians(y1);
+        double lat2 = Math.toRadians(y2);
+        double dLat = lat2 - lat1;
+        double dLon = Math.toRadians(x2 - x1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(lat1) * Math.cos(lat2) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private void collect(List<T> cellItems, double minX, double minY, double maxX, double maxY, List<T> result) {
+        for (T item : cellItems) {
+            double x = xOf.apply(item);
+            double y = yOf.apply(item);
+            if (x >= minX && x <= maxX && y >= minY && y <= maxY) {
+                result.add(item);
+            }
+        }
+    }
+
+    private long cell(double degrees) {
+        return (long) Math.floor(degrees / cellDegrees);
+    }
+
+    private static long cellKey(long row, long col) {
+        return (row << 32) ^ (col & 0xffffffffL);
+    }
+}
@@ -0,0 +1,111 @@
+package yerong.wedle.common.utils;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 분 단위(60칸)와 시간 단위(24칸) 두 단계로 이루어진 타이밍 휠.
+ * 현재 시각과 같은 시간대의 항목은 분 휠에, 24시간 이내의 항목은 시간 휠에 두었다가
+ * 해당 시간이 되면 분 휠로 옮긴다. 같은 항목은 만료되기 전까지 한 번만 등록된다.
+ */
+public class HierarchicalTimingWheel<T> {
+
+    private static final int MINUTE_SLOTS = 60;
+    private static final int HOUR_SLOTS = 24;
+
+    private final List<List<Entry<T>>> minuteWheel = new ArrayList<>(MINUTE_SLOTS);
+    private final List<List<Entry<T>>> hourWheel = new ArrayList<>(HOUR_SLOTS);
+    private final List<T> overdue = new ArrayList<>();
+    private final Set<T> scheduled = new HashSet<>();
+    private long currentMinute;
+
+    public HierarchicalTimingWheel(long startEpochMinute) {
+        for (int i = 0; i < MINUTE_SLOTS; i++) {
+            minuteWheel.add(new ArrayList<>());
+        }
+        for (int i = 0; i < HOUR_SLOTS; i++) {
+            hourWheel.add(new ArrayList<>());
+        }
+        this.currentMinute = startEpochMinute;
+    }
+
+    /**
+     * 이미 지난 시각의 항목은 다음 {@link #advanceTo(long)}에서 바로 만료된다.
+     * 24시간 이후의 항목은 등록하지 않고 false를 반환한다.
+     */
+    public synchronized boolean schedule(T item, long dueEpochMinute) {
+        if (scheduled.contains(item)) {
+            return true;
+        }
+        if (dueEpochMinute <= currentMinute) {
+            overdue.add(item);
+        } else if (dueEpochMinute / MINUTE_SLOTS == currentMinute / MINUTE_SLOTS) {
+            minuteWheel.get((int) (dueEpochMinute % MINUTE_SLOTS)).add(new Entry<>(item, dueEpochMinute));
+        } else if (dueEpochMinute / MINUTE_SLOTS - currentMinute / MINUTE_SLOTS < HOUR_SLOTS) {
+            hourWheel.get((int) (dueEpochMinute / MINUTE_SLOTS % HOUR_SLOTS)).add(new Entry<>(item, dueEpochMinute));
+        } else {
+            return false;
+        }
+        scheduled.add(item);
+        return true;
+    }
+
+    /**
+     * 현재 시각을 주어진 분까지 진행하고, 그 사이에 만료된 항목을 반환한다.
+     */
+    public synchronized List<T> advanceTo(long epochMinute) {
+        List<T> expired = new ArrayList<>(overdue);
+        overdue.clear();
+
+        long steps = Math.min(epochMinute - currentMinute, (long) MINUTE_SLOTS * HOUR_SLOTS);
+        for (long i = 0; i < steps; i++) {
+            currentMinute++;
+            if (currentMinute % MINUTE_SLOTS == 0) {
+                cascade();
+            }
+            List<Entry<T>> slot = minuteWheel.get((int) (currentMinute % MINUTE_SLOTS));
+            for (Entry<T> entry : slot) {
+                expired.add(entry.item());
+            }
+            slot.clear();
+        }
+        if (currentMinute < epochMinute) {
+            drainAll(expired);
+            currentMinute = epochMinute;
+        }
+        expired.forEach(scheduled::remove);
+        return expired;
+    }
+
+    public synchronized long getCurrentMinute() {
+        return currentMinute;
+    }
+
+    public synchronized int size() {
+        return scheduled.size();
+    }
+
+    private void cascade() {
+        List<Entry<T>> slot = hourWheel.get((int) (currentMinute / MINUTE_SLOTS % HOUR_SLOTS));
+        for (Entry<T> entry : slot) {
+            minuteWheel.get((int) (entry.dueMinute() % MINUTE_SLOTS)).add(entry);
+        }
+        slot.clear();
+    }
+
+    private void drainAll(List<T> expired) {
+        for (List<Entry<T>> slot : minuteWheel) {
+            slot.forEach(entry -> expired.add(entry.item()));
+            slot.clear();
+        }
+        for (List<Entry<T>> slot : hourWheel) {
+            slot.forEach(entry -> expired.add(entry.item()));
+            slot.clear();
+        }
+    }
+
+    private record Entry<T>(T item, long dueMinute) {
+    }
+}
@@ -0,0 +1,82 @@
+package yerong.wedle.common.utils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 날짜 구간(양 끝 포함)의 정적 interval tree.
+ * 시작일 순으로 정렬한 배열을 균형 이진 트리로 보고, 각 노드에 하위 트리의 가장 늦은 종료일을 두어
+ * 겹치지 않는 하위 트리는 건너뛴다. 만든 뒤에는 변경하지 않으므로 여러 스레드에서 동시에 조회해도 된다.
+ */
+public class IntervalTree<T> {
+
+    private final List<T> items;
+    private final long[] starts;
+    private final long[] ends;
+    private final long[] maxEnds;
+
+    public IntervalTree(List<T> items, Function<T, LocalDate> startOf, Function<T, LocalDate> endOf) {
+        List<T> sorted = new ArrayList<>(items);
+        sorted.sort(Comparator.comparing(startOf));
+        this.items = sorted;
+        this.starts = new long[sorted.size()];
+        this.ends = new long[sorted.size()];
+        this.maxEnds = new long[sorted.size()];
+        for (int i = 0; i < sorted.size(); i++) {
+            T item = sorted.get(i);
+            LocalDate start = startOf.apply(item);
+            LocalDate end = endOf.apply(item);
+            starts[i] = start.toEpochDay();
+            ends[i] = (end != null ? end : start).toEpochDay();
+        }
+        buildMaxEnds(0, sorted.size() - 1);
+    }
+
+    /**
+     * [from, to] 구간과 하루라도 겹치는 항목을 시작일 순으로 반환한다.
+     */
+    public List<T> findOverlapping(LocalDate from, LocalDate to) {
+        List<T> result = new ArrayList<>();
+        collect(0, items.size() - 1, from.toEpochDay(), to.toEpochDay(), result);
+        return result;
+    }
+
+    public List<T> getItems() {
+        return Collections.unmodifiableList(items);
+    }
+
+    public int size() {
+        return items.size();
+    }
+
+    private long buildMaxEnds(int low, int high) {
+        if (low > high) {
+            return Long.MIN_VALUE;
+        }
+        int mid = (low + high) >>> 1;
+        long max = Math.max(ends[mid], Math.max(buildMaxEnds(low, mid - 1), buildMaxEnds(mid + 1, high)));
+        maxEnds[mid] = max;
+        return max;
+    }
+
+    private void collect(int low, int high, long from, long to, List<T> result) {
+        if (low > high) {
+            return;
+        }
+        int mid = (low + high) >>> 1;
+        if (maxEnds[mid] < from) {
+            return;
+        }
+        collect(low, mid - 1, from, to, result);
+        if (starts[mid] <= to) {
+            if (ends[mid] >= from) {
+                result.add(items.get(mid));
+            }
+            collect(mid + 1, high, from, to, result);
+        }
+    }
+}
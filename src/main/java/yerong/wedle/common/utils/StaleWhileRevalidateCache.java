@@ -0,0 +1,126 @@
+package yerong.wedle.common.utils;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * TTL이 지난 값도 stale 기간 동안은 그대로 반환하고, 그 사이 백그라운드에서 다시 읽어 온다.
+ * 같은 키를 동시에 읽어야 할 때는 한 번만 loader를 호출하고 나머지 요청은 그 결과를 기다린다.
+ * 읽기에 실패하면 값을 캐시하지 않으며, 갱신에 실패하면 stale 기간이 지났더라도 기존 값을 계속 사용한다.
+ * 일부만 읽어 온 값처럼 빨리 다시 읽어야 하는 값은 값마다 TTL을 짧게 정할 수 있다.
+ */
+@Slf4j
+public class StaleWhileRevalidateCache<K, V> {
+
+    private final Function<K, V> loader;
+    private final Executor refreshExecutor;
+    private final ToLongFunction<V> ttlMillis;
+    private final long staleMillis;
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    public StaleWhileRevalidateCache(Function<K, V> loader, Executor refreshExecutor, long ttlMillis,
+                                     long staleMillis) {
+        this(loader, refreshExecutor, value -> ttlMillis, staleMillis);
+    }
+
+    public StaleWhileRevalidateCache(Function<K, V> loader, Executor refreshExecutor, ToLongFunction<V> ttlMillis,
+                                     long staleMillis) {
+        this.loader = loader;
+        this.refreshExecutor = refreshExecutor;
+        this.ttlMillis = ttlMillis;
+        this.staleMillis = staleMillis;
+    }
+
+    public V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null) {
+            long age = System.currentTimeMillis() - entry.loadedAt();
+            if (age < entry.ttlMillis()) {
+                return entry.value();
+            }
+            if (age < entry.ttlMillis() + staleMillis) {
+                refreshAsync(key).whenComplete((value, error) -> {
+                    if (error != null) {
+                        log.warn("캐시 갱신에 실패해 기존 값을 계속 사용합니다. key: {}, {}", key, error.getMessage());
+                    }
+                });
+                return entry.value();
+            }
+        }
+        // 값이 없거나 너무 오래되었으면 호출한 스레드에서 직접 읽는다.
+        try {
+            return load(key, null).join();
+        } catch (CompletionException e) {
+            // 다시 읽지 못했으면 오래된 값이라도 남아 있는 값을 반환한다.
+            if (entry != null) {
+                log.warn("캐시를 다시 읽지 못해 만료된 값을 반환합니다. key: {}, {}", key, e.getCause().getMessage());
+                return entry.value();
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 이미 읽는 중이면 그 작업을 반환한다.
+     */
+    public CompletableFuture<V> refreshAsync(K key) {
+        return load(key, refreshExecutor);
+    }
+
+    public boolean isFresh(K key) {
+        Entry<V> entry = entries.get(key);
+        return entry != null && System.currentTimeMillis() - entry.loadedAt() < entry.ttlMillis();
+    }
+
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private CompletableFuture<V> load(K key, Executor executor) {
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            return existing;
+        }
+        Runnable task = () -> {
+            try {
+                V value = loader.apply(key);
+                entries.put(key, new Entry<>(value, System.currentTimeMillis(), ttlMillis.applyAsLong(value)));
+                future.complete(value);
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            } finally {
+                inFlight.remove(key, future);
+            }
+        };
+        if (executor == null) {
+            task.run();
+            return future;
+        }
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(key, future);
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    private record Entry<V>(V value, long loadedAt, long ttlMillis) {
+    }
+}
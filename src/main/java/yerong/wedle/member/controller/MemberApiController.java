@@ -13,6 +13,9 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import yerong.wedle.common.ratelimit.RateLimit;
+import yerong.wedle.member.dto.DigestRequest;
+import yerong.wedle.member.dto.DigestResponse;
 import yerong.wedle.member.dto.NicknameDuplicateResponse;
 import yerong.wedle.member.dto.NicknameRequest;
 import yerong.wedle.member.dto.NicknameResponse;
@@ -54,8 +57,10 @@ public class MemberApiController {
 
     @Operation(summary = "닉네임 중복 체크", description = "닉네임의 중복 여부를 확인합니다")
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "닉네임 중복 확인 성공")
+            @ApiResponse(responseCode = "200", description = "닉네임 중복 확인 성공"),
+            @ApiResponse(responseCode = "429", description = "요청 횟수 제한 초과")
     })
+    @RateLimit(name = "nickname-check", capacity = 30, refillPerMinute = 120)
     @GetMapping("/nickname/check")
     public ResponseEntity<NicknameDuplicateResponse> checkNicknameDuplicate(@RequestParam String nickname) {
         NicknameDuplicateResponse nicknameDuplicateResponse = memberService.checkNicknameDuplicate(nickname);
@@ -66,4 +71,24 @@ public class MemberApiController {
     public ResponseEntity<NicknameResponse> getNickname() {
         return ResponseEntity.ok(memberService.getNickname());
     }
+
+    @Operation(summary = "요약 알림 설정", description = "같은 날의 알림을 하나의 푸시로 묶어 받을지 설정합니다")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "요약 알림 설정 성공"),
+            @ApiResponse(responseCode = "404", description = "회원을 찾을 수 없음")
+    })
+    @PutMapping("/digest")
+    public ResponseEntity<DigestResponse> updateDigest(@RequestBody DigestRequest digestRequest) {
+        return ResponseEntity.ok(memberService.setDigestEnabled(digestRequest));
+    }
+
+    @Operation(summary = "요약 알림 설정 조회", description = "회원의 요약 알림 설정을 조회합니다")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "요약 알림 설정 조회 성공"),
+            @ApiResponse(responseCode = "404", description = "회원을 찾을 수 없음")
+    })
+    @GetMapping("/digest")
+    public ResponseEntity<DigestResponse> getDigest() {
+        return ResponseEntity.ok(memberService.getDigestEnabled());
+    }
 }
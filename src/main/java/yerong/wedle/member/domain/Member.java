@@ -3,6 +3,7 @@ package yerong.wedle.member.domain;
 import jakarta.persistence.*;
 import lombok.*;
 import yerong.wedle.common.domain.BaseTimeEntity;
+import yerong.wedle.notification.domain.DeviceToken;
 import yerong.wedle.notification.domain.Notification;
 
 import java.util.List;
@@ -37,13 +38,29 @@ public class Member extends BaseTimeEntity {
 
     private boolean isExistingMember;
 
+    private boolean digestEnabled;
+
+    // 달력 구독 주소를 재발급하면 증가해 이전 주소를 무효로 만든다.
+    private int feedTokenVersion;
+
     @OneToMany(mappedBy = "member", cascade = CascadeType.ALL, fetch = FetchType.LAZY) // Member와 Notification 간의 관계 설정
     private List<Notification> notifications;
 
+    @OneToMany(mappedBy = "member", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    private List<DeviceToken> deviceTokens;
+
     public void setExistingMember(boolean isExistingMember) {
         this.isExistingMember = isExistingMember;
     }
 
+    public void setDigestEnabled(boolean digestEnabled) {
+        this.digestEnabled = digestEnabled;
+    }
+
+    public void rotateFeedToken() {
+        this.feedTokenVersion++;
+    }
+
     public void setNickname(String nickname) {
         this.nickname = nickname;
     }
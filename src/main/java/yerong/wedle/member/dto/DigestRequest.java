@@ -0,0 +1,13 @@
+package yerong.wedle.member.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@Data
+@NoArgsConstructor
+public class DigestRequest {
+
+    private boolean digestEnabled;
+}
@@ -0,0 +1,15 @@
+package yerong.wedle.member.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@Builder
+@Data
+@NoArgsConstructor
+public class DigestResponse {
+
+    private boolean digestEnabled;
+}
@@ -12,4 +12,5 @@ public class MemberRequest {
     private String socialId;
     private String name;
     private String email;
+    private String identityToken;
 }
@@ -1,9 +1,14 @@
 package yerong.wedle.member.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import yerong.wedle.member.domain.Member;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public interface MemberRepository extends JpaRepository<Member, Long> {
 
@@ -12,4 +17,10 @@ public interface MemberRepository extends JpaRepository<Member, Long> {
     Optional<Member> findByNickname(String nickname);
 
     boolean existsByNickname(String nickname);
+
+    @Query("SELECT m.nickname FROM Member m WHERE m.nickname IS NOT NULL")
+    List<String> findAllNicknames();
+
+    @Query("SELECT m.memberId FROM Member m WHERE m.memberId IN :memberIds AND m.digestEnabled = true")
+    Set<Long> findDigestEnabledIds(@Param("memberIds") Collection<Long> memberIds);
 }
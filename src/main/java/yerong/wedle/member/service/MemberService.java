@@ -1,9 +1,13 @@
 package yerong.wedle.member.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import yerong.wedle.member.domain.Member;
+import yerong.wedle.member.dto.DigestRequest;
+import yerong.wedle.member.dto.DigestResponse;
 import yerong.wedle.member.dto.NicknameDuplicateResponse;
 import yerong.wedle.member.dto.NicknameRequest;
 import yerong.wedle.member.dto.NicknameResponse;
@@ -12,15 +16,19 @@ import yerong.wedle.member.exception.InvalidNicknameException;
 import yerong.wedle.member.exception.MemberNicknameDuplicateException;
 import yerong.wedle.member.exception.MemberNotFoundException;
 import yerong.wedle.member.repository.MemberRepository;
+import yerong.wedle.notification.service.NotificationTopicService;
 
 @RequiredArgsConstructor
 @Service
 public class MemberService {
 
     private final MemberRepository memberRepository;
+    private final NicknameBloomFilter nicknameBloomFilter;
+    private final NicknameReservationService nicknameReservationService;
+    private final NotificationTopicService notificationTopicService;
 
     private boolean isNicknameDuplicate(String nickname) {
-        return memberRepository.existsByNickname(nickname);
+        return nicknameBloomFilter.mightContain(nickname) && memberRepository.existsByNickname(nickname);
     }
 
     private void validateNickname(String nickname) {
@@ -34,18 +42,29 @@ public class MemberService {
         Member member = memberRepository.findBySocialId(socialId)
                 .orElseThrow(MemberNotFoundException::new);
 
-        validateNickname(nicknameRequest.getNickName());
+        String nickname = nicknameRequest.getNickName();
+        validateNickname(nickname);
 
-        if (member.getNickname() != null && member.getNickname().equals(nicknameRequest.getNickName())) {
+        if (member.getNickname() != null && member.getNickname().equals(nickname)) {
             throw new ExistingNicknameException();
         }
 
-        if (isNicknameDuplicate(nicknameRequest.getNickName())) {
+        if (!nicknameReservationService.reserve(nickname, socialId)) {
             throw new MemberNicknameDuplicateException();
         }
-
-        member.setNickname(nicknameRequest.getNickName());
-        memberRepository.save(member);
+        try {
+            if (isNicknameDuplicate(nickname)) {
+                throw new MemberNicknameDuplicateException();
+            }
+
+            member.setNickname(nickname);
+            memberRepository.saveAndFlush(member);
+        } catch (DataIntegrityViolationException e) {
+            throw new MemberNicknameDuplicateException();
+        } finally {
+            nicknameReservationService.release(nickname, socialId);
+        }
+        nicknameBloomFilter.publish(nickname);
 
         return NicknameResponse.builder()
                 .nickName(member.getNickname()).build();
@@ -61,6 +80,29 @@ public class MemberService {
                 .nickName(member.getNickname()).build();
     }
 
+    @Transactional
+    public DigestResponse setDigestEnabled(DigestRequest digestRequest) {
+        String socialId = getCurrentUserId();
+        Member member = memberRepository.findBySocialId(socialId)
+                .orElseThrow(MemberNotFoundException::new);
+        if (member.isDigestEnabled() != digestRequest.isDigestEnabled()) {
+            member.setDigestEnabled(digestRequest.isDigestEnabled());
+            notificationTopicService.changeDigest(member, member.isDigestEnabled());
+        }
+
+        return DigestResponse.builder()
+                .digestEnabled(member.isDigestEnabled()).build();
+    }
+
+    public DigestResponse getDigestEnabled() {
+        String socialId = getCurrentUserId();
+        Member member = memberRepository.findBySocialId(socialId)
+                .orElseThrow(MemberNotFoundException::new);
+
+        return DigestResponse.builder()
+                .digestEnabled(member.isDigestEnabled()).build();
+    }
+
     private String getCurrentUserId() {
         String socialId = SecurityContextHolder.getContext().getAuthentication().getName();
 
@@ -68,6 +110,13 @@ public class MemberService {
     }
 
     public NicknameDuplicateResponse checkNicknameDuplicate(String nickname) {
+        if (!nicknameBloomFilter.mightContain(nickname)) {
+            return NicknameDuplicateResponse.builder()
+                    .isDuplicate(false)
+                    .message("사용 가능한 닉네임입니다.")
+                    .build();
+        }
+
         String socialId = getCurrentUserId();
         Member member = memberRepository.findBySocialId(socialId)
                 .orElseThrow(MemberNotFoundException::new);
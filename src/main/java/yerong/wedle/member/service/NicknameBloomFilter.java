@@ -0,0 +1,170 @@
+package yerong.wedle.member.service;
+
+import jakarta.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import yerong.wedle.member.repository.MemberRepository;
+
+/**
+ * 사용 중인 닉네임의 Bloom filter.
+ * 음성 응답은 DB 조회 없이 사용 가능한 닉네임임을 보장하고, 양성 응답만 DB로 확인한다.
+ * 다른 서버에서 등록된 닉네임은 Redis pub/sub 채널로 전달받는다.
+ */
+@Slf4j
+@Component
+public class NicknameBloomFilter implements MessageListener {
+
+    public static final String NICKNAME_TAKEN_CHANNEL = "nickname:taken";
+
+    private final MemberRepository memberRepository;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final int numBits;
+    private final int numHashes;
+
+    private volatile AtomicLongArray bits;
+    private volatile AtomicLongArray rebuilding;
+    private volatile boolean ready = false;
+
+    public NicknameBloomFilter(MemberRepository memberRepository,
+                               RedisTemplate<String, Object> redisTemplate,
+                               RedisMessageListenerContainer listenerContainer,
+                               @Value("${nickname.bloom.expected-insertions:1000000}") long expectedInsertions,
+                               @Value("${nickname.bloom.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.memberRepository = memberRepository;
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+
+        long optimalBits = (long) (-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        long words = Math.max(1, (optimalBits + 63) / 64);
+        this.numBits = (int) Math.min(words * 64, Integer.MAX_VALUE - 63);
+        this.numHashes = Math.max(1, (int) Math.round((double) numBits / expectedInsertions * Math.log(2)));
+        this.bits = new AtomicLongArray(numBits / 64 + 1);
+    }
+
+    @PostConstruct
+    private void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(NICKNAME_TAKEN_CHANNEL));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${nickname.bloom.rebuild-interval-ms:21600000}",
+            initialDelayString = "${nickname.bloom.rebuild-interval-ms:21600000}")
+    public void rebuild() {
+        AtomicLongArray next = new AtomicLongArray(numBits / 64 + 1);
+        rebuilding = next;
+        try {
+            List<String> nicknames = memberRepository.findAllNicknames();
+            for (String nickname : nicknames) {
+                put(next, nickname);
+            }
+            bits = next;
+            ready = true;
+            log.info("닉네임 Bloom filter를 {}건으로 초기화했습니다.", nicknames.size());
+        } catch (Exception e) {
+            log.error("닉네임 Bloom filter 초기화에 실패했습니다.", e);
+        } finally {
+            rebuilding = null;
+        }
+    }
+
+    /**
+     * 초기화 전이거나 필터에 포함될 가능성이 있으면 true를 반환한다.
+     */
+    public boolean mightContain(String nickname) {
+        if (!ready || nickname == null) {
+            return true;
+        }
+        AtomicLongArray current = bits;
+        long hash = hash(nickname);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= numHashes; i++) {
+            int index = ((h1 + i * h2) & Integer.MAX_VALUE) % numBits;
+            if ((current.get(index >>> 6) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void put(String nickname) {
+        AtomicLongArray current = bits;
+        put(current, nickname);
+        AtomicLongArray next = rebuilding;
+        if (next != null) {
+            put(next, nickname);
+        }
+        // 쓰는 사이 재구성이 배열을 교체했으면 버려진 배열에만 기록되었을 수 있으므로 새 배열에도 기록한다.
+        // rebuild는 bits를 바꾼 뒤 rebuilding을 비우므로, rebuilding이 비어 있는 것을 봤다면 새 bits도 보인다.
+        AtomicLongArray swapped = bits;
+        if (swapped != current) {
+            put(swapped, nickname);
+        }
+    }
+
+    public void publish(String nickname) {
+        put(nickname);
+        try {
+            redisTemplate.convertAndSend(NICKNAME_TAKEN_CHANNEL, nickname);
+        } catch (Exception e) {
+            log.warn("닉네임 등록 전파에 실패했습니다. 다음 재구성 시 반영됩니다. {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        put(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    private void put(AtomicLongArray target, String nickname) {
+        long hash = hash(nickname);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= numHashes; i++) {
+            int index = ((h1 + i * h2) & Integer.MAX_VALUE) % numBits;
+            int word = index >>> 6;
+            long mask = 1L << index;
+            long value;
+            do {
+                value = target.get(word);
+                if ((value & mask) != 0) {
+                    break;
+                }
+            } while (!target.compareAndSet(word, value, value | mask));
+        }
+    }
+
+    // DB의 닉네임 비교는 대소문자를 구분하지 않으므로 소문자로 정규화한 뒤 해시한다.
+    private static long hash(String nickname) {
+        String normalized = nickname.toLowerCase(Locale.ROOT);
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < normalized.length(); i++) {
+            hash ^= normalized.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
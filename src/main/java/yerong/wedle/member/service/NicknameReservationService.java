@@ -0,0 +1,44 @@
+package yerong.wedle.member.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class NicknameReservationService {
+
+    private static final String RESERVATION_KEY_PREFIX = "nickname:reservation:";
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    @Value("${nickname.reservation.ttl-seconds:10}")
+    private long reservationTtlSeconds;
+
+    public boolean reserve(String nickname, String socialId) {
+        String key = reservationKey(nickname);
+        Boolean reserved = redisTemplate.opsForValue()
+                .setIfAbsent(key, socialId, Duration.ofSeconds(reservationTtlSeconds));
+        if (Boolean.TRUE.equals(reserved)) {
+            return true;
+        }
+        return socialId.equals(redisTemplate.opsForValue().get(key));
+    }
+
+    public void release(String nickname, String socialId) {
+        redisTemplate.execute(RELEASE_SCRIPT, List.of(reservationKey(nickname)), socialId);
+    }
+
+    private String reservationKey(String nickname) {
+        return RESERVATION_KEY_PREFIX + nickname.toLowerCase(Locale.ROOT);
+    }
+}
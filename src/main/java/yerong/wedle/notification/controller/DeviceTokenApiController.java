@@ -0,0 +1,46 @@
+package yerong.wedle.notification.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import yerong.wedle.notification.dto.DeviceTokenRequest;
+import yerong.wedle.notification.service.DeviceTokenService;
+
+@RestController
+@RequestMapping("/api/device-tokens")
+@RequiredArgsConstructor
+public class DeviceTokenApiController {
+    private final DeviceTokenService deviceTokenService;
+
+    @Operation(summary = "기기 토큰 등록", description = "푸시 알림을 받을 기기의 FCM 토큰을 등록합니다.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "기기 토큰이 성공적으로 등록되었습니다."),
+            @ApiResponse(responseCode = "400", description = "잘못된 요청 데이터"),
+            @ApiResponse(responseCode = "404", description = "회원이 존재하지 않습니다.")
+    })
+    @PostMapping
+    public ResponseEntity<Void> registerToken(@RequestBody @Valid DeviceTokenRequest request) {
+        deviceTokenService.registerToken(request.getToken());
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(summary = "기기 토큰 삭제", description = "로그아웃 등으로 더 이상 알림을 받지 않을 기기의 FCM 토큰을 삭제합니다.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "기기 토큰이 성공적으로 삭제되었습니다."),
+            @ApiResponse(responseCode = "404", description = "회원이 존재하지 않습니다.")
+    })
+    @DeleteMapping
+    public ResponseEntity<Void> deleteToken(@RequestParam String token) {
+        deviceTokenService.deleteToken(token);
+        return ResponseEntity.noContent().build();
+    }
+}
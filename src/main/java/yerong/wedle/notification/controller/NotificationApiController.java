@@ -5,11 +5,17 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import yerong.wedle.notification.dto.BulkCreateNotificationRequest;
+import yerong.wedle.notification.dto.BulkCreateNotificationResponse;
 import yerong.wedle.notification.dto.CreateNotificationRequest;
+import yerong.wedle.notification.dto.NotificationPageResponse;
 import yerong.wedle.notification.dto.NotificationResponse;
 import yerong.wedle.notification.service.NotificationService;
+import yerong.wedle.notification.service.NotificationStreamService;
 
 import java.util.List;
 
@@ -18,6 +24,17 @@ import java.util.List;
 @RequiredArgsConstructor
 public class NotificationApiController {
     private final NotificationService notificationService;
+    private final NotificationStreamService notificationStreamService;
+
+    @Operation(summary = "알림 스트림 연결", description = "앱이 열려 있는 동안 알림을 Server-Sent Events로 받습니다. 연결된 동안에는 FCM 알림이 발송되지 않습니다.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "알림 스트림이 연결되었습니다."),
+            @ApiResponse(responseCode = "404", description = "회원이 존재하지 않습니다.")
+    })
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamNotifications() {
+        return notificationStreamService.connect();
+    }
 
     @Operation(summary = "알림 생성", description = "이벤트에 대한 새로운 알림을 생성합니다.")
     @ApiResponses(value = {
@@ -32,6 +49,18 @@ public class NotificationApiController {
         return ResponseEntity.ok(notificationResponse);
     }
 
+    @Operation(summary = "알림 일괄 생성", description = "이벤트의 여러 날짜 또는 알림 규칙(매일, 당일, 하루 전과 당일)으로 알림을 한 번에 생성합니다. 이미 존재하는 날짜는 건너뜁니다.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "알림이 성공적으로 생성되었습니다."),
+            @ApiResponse(responseCode = "400", description = "잘못된 요청 데이터 또는 이벤트 기간을 벗어난 날짜"),
+            @ApiResponse(responseCode = "404", description = "회원 또는 이벤트가 존재하지 않습니다.")
+    })
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkCreateNotificationResponse> createNotifications(
+            @RequestBody @Valid BulkCreateNotificationRequest request) {
+        return ResponseEntity.ok(notificationService.createNotifications(request));
+    }
+
     @Operation(summary = "알림 삭제", description = "ID를 통해 특정 알림을 삭제합니다.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "알림이 성공적으로 삭제되었습니다."),
@@ -53,4 +82,16 @@ public class NotificationApiController {
         List<NotificationResponse> notifications = notificationService.getNotificationsByMember();
         return ResponseEntity.ok(notifications);
     }
+
+    @Operation(summary = "회원의 알림 페이지 조회", description = "회원의 활성 알림을 ID 순으로 커서 기반 페이지 조회합니다. 응답의 nextCursor를 다음 요청의 cursor로 사용합니다.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "회원의 알림 목록이 성공적으로 조회되었습니다."),
+            @ApiResponse(responseCode = "404", description = "회원이 존재하지 않습니다.")
+    })
+    @GetMapping("/member/page")
+    public ResponseEntity<NotificationPageResponse> getNotificationsByMember(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(notificationService.getNotificationsByMember(cursor, size));
+    }
 }
@@ -0,0 +1,48 @@
+package yerong.wedle.notification.domain;
+
+import static jakarta.persistence.GenerationType.IDENTITY;
+import static lombok.AccessLevel.PROTECTED;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import yerong.wedle.common.domain.BaseTimeEntity;
+import yerong.wedle.member.domain.Member;
+
+@Getter
+@NoArgsConstructor(access = PROTECTED)
+@Entity
+@Table(name = "device_token")
+public class DeviceToken extends BaseTimeEntity {
+
+    @Id
+    @GeneratedValue(strategy = IDENTITY)
+    @Column(name = "device_token_id")
+    private Long deviceTokenId;
+
+    @Column(nullable = false, unique = true)
+    private String token;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "member_id", nullable = false)
+    private Member member;
+
+    @Builder
+    public DeviceToken(String token, Member member) {
+        this.token = token;
+        this.member = member;
+    }
+
+    // 기기의 로그인 계정이 바뀌면 토큰을 새 회원에게 옮긴다.
+    public void changeMember(Member member) {
+        this.member = member;
+    }
+}
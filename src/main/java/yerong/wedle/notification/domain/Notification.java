@@ -4,16 +4,17 @@ import static jakarta.persistence.GenerationType.*;
 import static lombok.AccessLevel.PROTECTED;
 
 import jakarta.persistence.Column;
-import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
 
 import java.time.LocalDate;
-import java.util.List;
+import java.time.LocalTime;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -27,6 +28,7 @@ import yerong.wedle.member.domain.Member;
 @AllArgsConstructor
 @Builder
 @Entity
+@Table(indexes = @Index(name = "idx_notification_date_time", columnList = "notificationDate, notification_time"))
 public class Notification extends BaseTimeEntity {
     @Id
     @GeneratedValue(strategy = IDENTITY)
@@ -36,13 +38,13 @@ public class Notification extends BaseTimeEntity {
     @Column(nullable = false)
     private LocalDate notificationDate;
 
+    @Column(name = "notification_time")
+    private LocalTime notificationTime;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "event_id", nullable = false)
     private CalendarEvent event;
 
-    @ElementCollection
-    private List<String> registrationTokens;
-
     @Column(nullable = false)
     private boolean isActive;
 
@@ -0,0 +1,196 @@
+package yerong.wedle.notification.domain;
+
+import static jakarta.persistence.GenerationType.IDENTITY;
+import static lombok.AccessLevel.PROTECTED;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import yerong.wedle.common.domain.BaseTimeEntity;
+import yerong.wedle.notification.push.PushMessage;
+import yerong.wedle.notification.push.PushTier;
+
+@Getter
+@NoArgsConstructor(access = PROTECTED)
+@Entity
+@Table(name = "notification_outbox",
+        indexes = {
+                @Index(name = "idx_notification_outbox_status_next_attempt", columnList = "status, next_attempt_at"),
+                // 발송 대상 조회가 우선순위 순으로 정렬하므로 정렬까지 인덱스로 처리한다.
+                @Index(name = "idx_notification_outbox_status_priority_next_attempt",
+                        columnList = "status, priority, next_attempt_at")
+        })
+public class NotificationOutbox extends BaseTimeEntity {
+
+    private static final String TOKEN_DELIMITER = "\n";
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    @Id
+    @GeneratedValue(strategy = IDENTITY)
+    @Column(name = "outbox_id")
+    private Long outboxId;
+
+    @Column(nullable = false, unique = true, length = 100)
+    private String idempotencyKey;
+
+    // 토픽 발송 메시지는 토큰 대신 토픽 이름을 가진다.
+    @Column(length = 100)
+    private String topic;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column(nullable = false)
+    private String body;
+
+    @Lob
+    @Column(nullable = false)
+    private String registrationTokens;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private OutboxStatus status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "tier", length = 20)
+    private PushTier tier;
+
+    // 값이 클수록 먼저 가져간다.
+    @Column(name = "priority", nullable = false)
+    private int priority;
+
+    @Column(name = "collapse_key", length = 64)
+    private String collapseKey;
+
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "locked_until")
+    private LocalDateTime lockedUntil;
+
+    @Column(length = MAX_ERROR_LENGTH)
+    private String lastError;
+
+    @Version
+    private Long version;
+
+    @Builder
+    public NotificationOutbox(String idempotencyKey, String topic, String title, String body,
+                              List<String> registrationTokens, PushTier tier, String collapseKey,
+                              LocalDateTime nextAttemptAt, LocalDateTime expiresAt) {
+        this.idempotencyKey = idempotencyKey;
+        this.topic = topic;
+        this.title = title;
+        this.body = body;
+        this.registrationTokens = String.join(TOKEN_DELIMITER, registrationTokens);
+        this.status = OutboxStatus.PENDING;
+        this.tier = tier;
+        this.priority = tier != null ? tier.getPriority() : 0;
+        this.collapseKey = collapseKey;
+        this.attempts = 0;
+        this.nextAttemptAt = nextAttemptAt;
+        this.expiresAt = expiresAt;
+    }
+
+    public static NotificationOutbox from(PushMessage message, LocalDateTime now) {
+        return from(message, now, now);
+    }
+
+    /**
+     * 스트림으로 먼저 전달하는 알림처럼 FCM 발송을 미뤄야 하면 첫 발송 시각을 지정한다.
+     */
+    public static NotificationOutbox from(PushMessage message, LocalDateTime now, LocalDateTime nextAttemptAt) {
+        return NotificationOutbox.builder()
+                .idempotencyKey(message.getIdempotencyKey())
+                .topic(message.getTopic())
+                .title(message.getTitle())
+                .body(message.getBody())
+                .registrationTokens(message.getRegistrationTokens() != null ? message.getRegistrationTokens() : List.of())
+                .tier(message.getTier())
+                .collapseKey(message.getCollapseKey())
+                .nextAttemptAt(nextAttemptAt)
+                .expiresAt(message.getExpiresAt() != null ? message.getExpiresAt() : now.plus(message.getTier().getTtl()))
+                .build();
+    }
+
+    public List<String> getTokenList() {
+        if (registrationTokens.isEmpty()) {
+            return List.of();
+        }
+        return Arrays.asList(registrationTokens.split(TOKEN_DELIMITER));
+    }
+
+    public PushMessage toPushMessage() {
+        return PushMessage.builder()
+                .idempotencyKey(idempotencyKey)
+                .topic(topic)
+                .title(title)
+                .body(body)
+                .registrationTokens(getTokenList())
+                .tier(tier != null ? tier : PushTier.INFORMATIONAL)
+                .collapseKey(collapseKey)
+                .expiresAt(expiresAt)
+                .build();
+    }
+
+    public boolean isExpired(LocalDateTime now) {
+        return expiresAt != null && !now.isBefore(expiresAt);
+    }
+
+    public void markSending(LocalDateTime lockedUntil) {
+        this.status = OutboxStatus.SENDING;
+        this.lockedUntil = lockedUntil;
+        this.attempts++;
+    }
+
+    public void markSent(String lastError) {
+        this.status = OutboxStatus.SENT;
+        this.lockedUntil = null;
+        this.lastError = truncate(lastError);
+    }
+
+    public void scheduleRetry(List<String> retryTokens, LocalDateTime nextAttemptAt, String lastError) {
+        this.status = OutboxStatus.PENDING;
+        this.registrationTokens = String.join(TOKEN_DELIMITER, retryTokens);
+        this.nextAttemptAt = nextAttemptAt;
+        this.lockedUntil = null;
+        this.lastError = truncate(lastError);
+    }
+
+    public void markExpired() {
+        this.status = OutboxStatus.EXPIRED;
+        this.lockedUntil = null;
+    }
+
+    public void markDead(String lastError) {
+        this.status = OutboxStatus.DEAD;
+        this.lockedUntil = null;
+        this.lastError = truncate(lastError);
+    }
+
+    private static String truncate(String error) {
+        if (error == null || error.length() <= MAX_ERROR_LENGTH) {
+            return error;
+        }
+        return error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
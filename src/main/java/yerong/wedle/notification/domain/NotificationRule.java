@@ -0,0 +1,41 @@
+package yerong.wedle.notification.domain;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+public enum NotificationRule {
+
+    EACH_DAY("매일"),
+    // D-day는 일정의 마지막 날(접수 마감일)이다.
+    D_DAY("당일"),
+    D_MINUS_1_AND_D_DAY("하루 전과 당일");
+
+    private final String displayName;
+
+    NotificationRule(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * 일정 기간 안에 들어가는 알림 날짜만 반환한다.
+     */
+    public List<LocalDate> dates(LocalDate startDate, LocalDate endDate) {
+        List<LocalDate> dates = new ArrayList<>();
+        switch (this) {
+            case EACH_DAY -> startDate.datesUntil(endDate.plusDays(1)).forEach(dates::add);
+            case D_DAY -> dates.add(endDate);
+            case D_MINUS_1_AND_D_DAY -> {
+                if (endDate.isAfter(startDate)) {
+                    dates.add(endDate.minusDays(1));
+                }
+                dates.add(endDate);
+            }
+        }
+        return dates;
+    }
+}
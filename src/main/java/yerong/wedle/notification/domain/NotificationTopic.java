@@ -0,0 +1,102 @@
+package yerong.wedle.notification.domain;
+
+import static jakarta.persistence.GenerationType.IDENTITY;
+import static lombok.AccessLevel.PROTECTED;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import yerong.wedle.calendar.domain.CalendarEvent;
+import yerong.wedle.common.domain.BaseTimeEntity;
+
+/**
+ * 알림이 많은 (이벤트, 날짜, 발송 시각)에 대한 FCM 토픽. 알림을 등록한 회원의 기기 토큰을 구독시킨 뒤
+ * 토픽 한 번의 발송으로 회원별 멀티캐스트를 대신한다. 발송 시각이 같은 알림만 묶어 회원이 정한 시각을 지킨다.
+ */
+@Getter
+@NoArgsConstructor(access = PROTECTED)
+@Entity
+@Table(name = "notification_topic",
+        uniqueConstraints = @UniqueConstraint(name = "uk_notification_topic_event_date_time",
+                columnNames = {"event_id", "notification_date", "notification_time"}))
+public class NotificationTopic extends BaseTimeEntity {
+
+    private static final DateTimeFormatter TOPIC_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final DateTimeFormatter TOPIC_TIME_FORMAT = DateTimeFormatter.ofPattern("HHmm");
+
+    @Id
+    @GeneratedValue(strategy = IDENTITY)
+    @Column(name = "notification_topic_id")
+    private Long notificationTopicId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "event_id", nullable = false)
+    private CalendarEvent event;
+
+    @Column(name = "notification_date", nullable = false)
+    private LocalDate notificationDate;
+
+    @Column(name = "notification_time", nullable = false)
+    private LocalTime notificationTime;
+
+    @Column(name = "topic", nullable = false, unique = true, length = 100)
+    private String topic;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private TopicStatus status;
+
+    @Column(name = "subscriber_count", nullable = false)
+    private int subscriberCount;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+
+    @Builder
+    public NotificationTopic(CalendarEvent event, LocalDate notificationDate, LocalTime notificationTime) {
+        this.event = event;
+        this.notificationDate = notificationDate;
+        this.notificationTime = notificationTime;
+        this.topic = topicName(event.getId(), notificationDate, notificationTime);
+        this.status = TopicStatus.SUBSCRIBING;
+        this.subscriberCount = 0;
+    }
+
+    public static String topicName(Long eventId, LocalDate notificationDate, LocalTime notificationTime) {
+        return "event-" + eventId + "-" + notificationDate.format(TOPIC_DATE_FORMAT) + "-"
+                + notificationTime.format(TOPIC_TIME_FORMAT);
+    }
+
+    public void markReady(int subscriberCount) {
+        this.status = TopicStatus.READY;
+        this.subscriberCount = subscriberCount;
+    }
+
+    // 토픽이 아직 발송되지 않았다면 이 알림의 회원은 토픽으로 알림을 받는다.
+    public boolean covers(Notification notification) {
+        if (status == TopicStatus.READY) {
+            return true;
+        }
+        return status == TopicStatus.SENT && sentAt != null && notification.getCreatedAt() != null
+                && !notification.getCreatedAt().isAfter(sentAt);
+    }
+
+    public boolean acceptsSubscription() {
+        return status == TopicStatus.SUBSCRIBING || status == TopicStatus.READY;
+    }
+}
@@ -0,0 +1,20 @@
+package yerong.wedle.notification.domain;
+
+public enum OutboxStatus {
+
+    PENDING("발송 대기"),
+    SENDING("발송 중"),
+    SENT("발송 완료"),
+    DEAD("발송 실패"),
+    EXPIRED("유효 기간 만료");
+
+    private final String displayName;
+
+    OutboxStatus(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+}
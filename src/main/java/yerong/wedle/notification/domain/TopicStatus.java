@@ -0,0 +1,18 @@
+package yerong.wedle.notification.domain;
+
+public enum TopicStatus {
+
+    SUBSCRIBING("구독 중"),
+    READY("발송 대기"),
+    SENT("발송 완료");
+
+    private final String displayName;
+
+    TopicStatus(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+}
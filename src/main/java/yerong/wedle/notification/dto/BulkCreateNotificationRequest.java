@@ -0,0 +1,27 @@
+package yerong.wedle.notification.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+import lombok.Getter;
+import lombok.Setter;
+import yerong.wedle.notification.domain.NotificationRule;
+
+@Getter
+@Setter
+public class BulkCreateNotificationRequest {
+    @NotNull
+    private Long eventId;
+
+    @Size(max = 366)
+    private Set<LocalDate> notificationDates;
+
+    private NotificationRule rule;
+
+    private LocalTime notificationTime;
+
+    private List<String> registrationTokens;
+}
@@ -0,0 +1,18 @@
+package yerong.wedle.notification.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class BulkCreateNotificationResponse {
+
+    private Long eventId;
+    private String title;
+    private LocalTime notificationTime;
+    private List<LocalDate> createdDates;
+    private List<LocalDate> skippedDates;
+}
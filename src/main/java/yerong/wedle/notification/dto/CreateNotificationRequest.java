@@ -3,7 +3,7 @@ package yerong.wedle.notification.dto;
 import jakarta.validation.constraints.NotNull;
 
 import java.time.LocalDate;
-import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.List;
 import lombok.Getter;
 import lombok.Setter;
@@ -15,9 +15,10 @@ public class CreateNotificationRequest {
     @NotNull
     private LocalDate notificationDate;;
 
+    private LocalTime notificationTime;
+
     @NotNull
     private Long eventId;
 
-    @NotNull
     private List<String> registrationTokens;
 }
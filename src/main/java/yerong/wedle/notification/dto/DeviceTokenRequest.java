@@ -0,0 +1,12 @@
+package yerong.wedle.notification.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class DeviceTokenRequest {
+    @NotBlank
+    private String token;
+}
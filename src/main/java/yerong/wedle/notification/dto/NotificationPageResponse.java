@@ -0,0 +1,14 @@
+package yerong.wedle.notification.dto;
+
+import java.util.List;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class NotificationPageResponse {
+
+    private List<NotificationResponse> notifications;
+    private Long nextCursor;
+    private boolean hasNext;
+}
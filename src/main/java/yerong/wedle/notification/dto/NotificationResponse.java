@@ -5,6 +5,7 @@ import lombok.Builder;
 import lombok.Getter;
 
 import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.List;
 
 @Getter
@@ -15,6 +16,7 @@ public class NotificationResponse {
     private String title;
     private String type;
     private LocalDate notificationDate;
+    private LocalTime notificationTime;
     private Long eventId;
     private List<String> registrationTokens;
     private boolean isActive;
@@ -0,0 +1,25 @@
+package yerong.wedle.notification.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationStreamEvent {
+
+    private Long notificationId;
+    private Long eventId;
+    private String title;
+    private String body;
+    private String type;
+    private String tier;
+    private LocalDate notificationDate;
+    // 전달을 확인하면 발송을 취소할 FCM 아웃박스 항목
+    private List<Long> outboxIds;
+}
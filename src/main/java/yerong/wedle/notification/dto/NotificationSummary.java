@@ -0,0 +1,20 @@
+package yerong.wedle.notification.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import yerong.wedle.calendar.domain.CalendarEventType;
+
+@Getter
+@AllArgsConstructor
+public class NotificationSummary {
+
+    private Long notificationId;
+    private String title;
+    private CalendarEventType calendarEventType;
+    private LocalDate notificationDate;
+    private LocalTime notificationTime;
+    private Long eventId;
+    private boolean isActive;
+}
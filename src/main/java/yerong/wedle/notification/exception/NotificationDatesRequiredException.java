@@ -0,0 +1,10 @@
+package yerong.wedle.notification.exception;
+
+import yerong.wedle.common.exception.CustomException;
+import yerong.wedle.common.exception.ResponseCode;
+
+public class NotificationDatesRequiredException extends CustomException {
+    public NotificationDatesRequiredException() {
+        super(ResponseCode.NOTIFICATION_DATES_REQUIRED);
+    }
+}
@@ -0,0 +1,142 @@
+package yerong.wedle.notification.push;
+
+import com.google.api.core.ApiFuture;
+import com.google.firebase.messaging.BatchResponse;
+import com.google.firebase.messaging.FirebaseMessaging;
+import com.google.firebase.messaging.SendResponse;
+import com.google.firebase.messaging.TopicManagementResponse;
+import java.util.ArrayList;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import yerong.wedle.common.utils.FcmUtils;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "push.sender", havingValue = "fcm", matchIfMissing = true)
+public class FcmPushSender implements PushSender {
+
+    @Override
+    public CompletableFuture<PushResult> sendMulticast(PushMessage message) {
+        List<String> registrationTokens = message.getRegistrationTokens();
+        FcmUtils.limitSizeValidate(registrationTokens);
+
+        CompletableFuture<PushResult> result = new CompletableFuture<>();
+        ApiFuture<BatchResponse> future = FirebaseMessaging.getInstance()
+                .sendEachForMulticastAsync(FcmUtils.buildMessage(registrationTokens, message.getTitle(),
+                        message.getBody(), isHighPriority(message), message.getCollapseKey(), remainingTtl(message)));
+        future.addListener(() -> {
+            try {
+                result.complete(toPushResult(registrationTokens, future.get()));
+            } catch (ExecutionException e) {
+                log.error("FCM 메시지 전송 중 예외 발생: {}", e.getCause().getMessage(), e.getCause());
+                result.completeExceptionally(e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                result.completeExceptionally(e);
+            }
+        }, Runnable::run);
+        return result;
+    }
+
+    @Override
+    public CompletableFuture<PushResult> sendToTopic(PushMessage message) {
+        ApiFuture<String> future = FirebaseMessaging.getInstance()
+                .sendAsync(FcmUtils.buildTopicMessage(message.getTopic(), message.getTitle(), message.getBody(),
+                        isHighPriority(message), message.getCollapseKey(), remainingTtl(message)));
+        return toCompletableFuture(future, messageId -> new PushResult(1, Map.of()));
+    }
+
+    private static boolean isHighPriority(PushMessage message) {
+        return message.getTier() != null && message.getTier().isHighPriority();
+    }
+
+    private Duration remainingTtl(PushMessage message) {
+        return message.getRemainingTtl(LocalDateTime.now());
+    }
+
+    @Override
+    public CompletableFuture<PushResult> subscribeToTopic(List<String> registrationTokens, String topic) {
+        return manageTopic(registrationTokens, topic, true);
+    }
+
+    @Override
+    public CompletableFuture<PushResult> unsubscribeFromTopic(List<String> registrationTokens, String topic) {
+        return manageTopic(registrationTokens, topic, false);
+    }
+
+    // 토픽 구독 요청은 한 번에 1000개 토큰까지만 보낼 수 있어 나누어 요청한 뒤 결과를 합친다.
+    private CompletableFuture<PushResult> manageTopic(List<String> registrationTokens, String topic, boolean subscribe) {
+        List<CompletableFuture<PushResult>> futures = new ArrayList<>();
+        for (int from = 0; from < registrationTokens.size(); from += FcmUtils.FCM_TOPIC_LIMIT_SIZE) {
+            List<String> chunk = registrationTokens.subList(from,
+                    Math.min(from + FcmUtils.FCM_TOPIC_LIMIT_SIZE, registrationTokens.size()));
+            ApiFuture<TopicManagementResponse> future = subscribe
+                    ? FirebaseMessaging.getInstance().subscribeToTopicAsync(chunk, topic)
+                    : FirebaseMessaging.getInstance().unsubscribeFromTopicAsync(chunk, topic);
+            futures.add(toCompletableFuture(future, response -> toPushResult(chunk, response)));
+        }
+        return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> {
+                    int successCount = 0;
+                    Map<String, PushErrorCode> failedTokens = new HashMap<>();
+                    for (CompletableFuture<PushResult> future : futures) {
+                        PushResult result = future.join();
+                        successCount += result.getSuccessCount();
+                        failedTokens.putAll(result.getFailedTokens());
+                    }
+                    return new PushResult(successCount, failedTokens);
+                });
+    }
+
+    private <T> CompletableFuture<PushResult> toCompletableFuture(ApiFuture<T> future, Function<T, PushResult> mapper) {
+        CompletableFuture<PushResult> result = new CompletableFuture<>();
+        future.addListener(() -> {
+            try {
+                result.complete(mapper.apply(future.get()));
+            } catch (ExecutionException e) {
+                log.error("FCM 요청 중 예외 발생: {}", e.getCause().getMessage(), e.getCause());
+                result.completeExceptionally(e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                result.completeExceptionally(e);
+            }
+        }, Runnable::run);
+        return result;
+    }
+
+    private PushResult toPushResult(List<String> registrationTokens, TopicManagementResponse response) {
+        Map<String, PushErrorCode> failedTokens = new HashMap<>();
+        for (TopicManagementResponse.Error error : response.getErrors()) {
+            failedTokens.put(registrationTokens.get(error.getIndex()), PushErrorCode.fromTopicReason(error.getReason()));
+        }
+        return new PushResult(response.getSuccessCount(), failedTokens);
+    }
+
+    private PushResult toPushResult(List<String> registrationTokens, BatchResponse response) {
+        Map<String, PushErrorCode> failedTokens = new HashMap<>();
+        List<SendResponse> responses = response.getResponses();
+        for (int i = 0; i < responses.size(); i++) {
+            SendResponse sendResponse = responses.get(i);
+            if (!sendResponse.isSuccessful()) {
+                PushErrorCode errorCode = sendResponse.getException() != null
+                        ? PushErrorCode.from(sendResponse.getException().getMessagingErrorCode(),
+                        sendResponse.getException().getMessage())
+                        : PushErrorCode.UNKNOWN;
+                failedTokens.put(registrationTokens.get(i), errorCode);
+            }
+        }
+        if (!failedTokens.isEmpty()) {
+            log.error("{} messages failed to send. {}", failedTokens.size(), failedTokens.values());
+        }
+        return new PushResult(response.getSuccessCount(), failedTokens);
+    }
+}
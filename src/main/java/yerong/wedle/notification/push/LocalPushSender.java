@@ -0,0 +1,155 @@
+package yerong.wedle.notification.push;
+
+import jakarta.annotation.PreDestroy;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * FCM 없이 발송을 흉내 내는 PushSender. 부하 테스트와 로컬 실행에 사용한다.
+ * 응답 지연, 요청 전체 실패 비율, 토큰별 실패 비율을 설정할 수 있고,
+ * invalid-token-prefix로 시작하는 토큰은 항상 UNREGISTERED로 실패한다.
+ * 토픽 구독 상태를 메모리에 보관하며, 토픽 발송은 구독 중인 토큰 수만큼 성공한 것으로 응답한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "push.sender", havingValue = "local")
+public class LocalPushSender implements PushSender {
+
+    private final long latencyMillis;
+    private final long latencyJitterMillis;
+    private final double errorRate;
+    private final double tokenFailureRate;
+    private final double unregisteredRatio;
+    private final String invalidTokenPrefix;
+    private final ScheduledExecutorService executor;
+    private final Map<String, Set<String>> subscribers = new ConcurrentHashMap<>();
+
+    public LocalPushSender(@Value("${push.local.latency-ms:0}") long latencyMillis,
+                           @Value("${push.local.latency-jitter-ms:0}") long latencyJitterMillis,
+                           @Value("${push.local.error-rate:0}") double errorRate,
+                           @Value("${push.local.token-failure-rate:0}") double tokenFailureRate,
+                           @Value("${push.local.unregistered-ratio:0.5}") double unregisteredRatio,
+                           @Value("${push.local.invalid-token-prefix:invalid-}") String invalidTokenPrefix,
+                           @Value("${push.local.threads:4}") int threads) {
+        this.latencyMillis = latencyMillis;
+        this.latencyJitterMillis = latencyJitterMillis;
+        this.errorRate = errorRate;
+        this.tokenFailureRate = tokenFailureRate;
+        this.unregisteredRatio = unregisteredRatio;
+        this.invalidTokenPrefix = invalidTokenPrefix;
+        this.executor = Executors.newScheduledThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "local-push");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public CompletableFuture<PushResult> sendMulticast(PushMessage message) {
+        log.debug("[local push] {} - {} ({}건)", message.getTitle(), message.getBody(),
+                message.getRegistrationTokens().size());
+        return complete(() -> simulate(message));
+    }
+
+    @Override
+    public CompletableFuture<PushResult> sendToTopic(PushMessage message) {
+        log.debug("[local push] {} - {} (topic: {})", message.getTitle(), message.getBody(), message.getTopic());
+        return complete(() -> {
+            failRandomly();
+            return new PushResult(getSubscriberCount(message.getTopic()), Map.of());
+        });
+    }
+
+    @Override
+    public CompletableFuture<PushResult> subscribeToTopic(List<String> registrationTokens, String topic) {
+        return complete(() -> {
+            failRandomly();
+            Set<String> tokens = subscribers.computeIfAbsent(topic, key -> ConcurrentHashMap.newKeySet());
+            Map<String, PushErrorCode> failedTokens = new HashMap<>();
+            for (String token : registrationTokens) {
+                if (token.startsWith(invalidTokenPrefix)) {
+                    failedTokens.put(token, PushErrorCode.UNREGISTERED);
+                } else {
+                    tokens.add(token);
+                }
+            }
+            return new PushResult(registrationTokens.size() - failedTokens.size(), failedTokens);
+        });
+    }
+
+    @Override
+    public CompletableFuture<PushResult> unsubscribeFromTopic(List<String> registrationTokens, String topic) {
+        return complete(() -> {
+            failRandomly();
+            Set<String> tokens = subscribers.get(topic);
+            if (tokens != null) {
+                registrationTokens.forEach(tokens::remove);
+            }
+            return new PushResult(registrationTokens.size(), Map.of());
+        });
+    }
+
+    public int getSubscriberCount(String topic) {
+        return subscribers.getOrDefault(topic, Set.of()).size();
+    }
+
+    private CompletableFuture<PushResult> complete(Supplier<PushResult> supplier) {
+        CompletableFuture<PushResult> result = new CompletableFuture<>();
+        executor.schedule(() -> {
+            try {
+                result.complete(supplier.get());
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        }, nextLatency(), TimeUnit.MILLISECONDS);
+        return result;
+    }
+
+    private void failRandomly() {
+        if (ThreadLocalRandom.current().nextDouble() < errorRate) {
+            throw new IllegalStateException("[local push] 요청 전체 실패");
+        }
+    }
+
+    private PushResult simulate(PushMessage message) {
+        failRandomly();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Map<String, PushErrorCode> failedTokens = new HashMap<>();
+        for (String token : message.getRegistrationTokens()) {
+            if (token.startsWith(invalidTokenPrefix)) {
+                failedTokens.put(token, PushErrorCode.UNREGISTERED);
+            } else if (random.nextDouble() < tokenFailureRate) {
+                failedTokens.put(token, random.nextDouble() < unregisteredRatio
+                        ? PushErrorCode.UNREGISTERED
+                        : PushErrorCode.UNAVAILABLE);
+            }
+        }
+        return new PushResult(message.getRegistrationTokens().size() - failedTokens.size(), failedTokens);
+    }
+
+    private long nextLatency() {
+        if (latencyJitterMillis <= 0) {
+            return latencyMillis;
+        }
+        return Math.max(0, latencyMillis + ThreadLocalRandom.current().nextLong(-latencyJitterMillis,
+                latencyJitterMillis + 1));
+    }
+}
@@ -0,0 +1,66 @@
+package yerong.wedle.notification.push;
+
+import com.google.firebase.messaging.MessagingErrorCode;
+import java.util.Locale;
+
+public enum PushErrorCode {
+    UNREGISTERED,
+    // FCM은 토큰 형식 오류도 INVALID_ARGUMENT로 주므로 오류 메시지가 토큰을 가리킬 때만 구분한다.
+    INVALID_REGISTRATION_TOKEN,
+    // 페이로드, TTL, APNs 헤더 등 메시지 자체의 오류. 재시도하지 않지만 토큰은 삭제하지 않는다.
+    INVALID_ARGUMENT,
+    SENDER_ID_MISMATCH,
+    QUOTA_EXCEEDED,
+    UNAVAILABLE,
+    INTERNAL,
+    THIRD_PARTY_AUTH_ERROR,
+    UNKNOWN;
+
+    // 일시적인 오류만 재시도하고, 토큰 자체가 잘못된 경우는 재시도하지 않는다.
+    public boolean isTransient() {
+        return this == QUOTA_EXCEEDED || this == UNAVAILABLE || this == INTERNAL || this == UNKNOWN;
+    }
+
+    // 등록 해제되었거나 형식이 잘못된 토큰은 기기 토큰 목록에서 삭제한다.
+    public boolean isInvalidToken() {
+        return this == UNREGISTERED || this == INVALID_REGISTRATION_TOKEN || this == SENDER_ID_MISMATCH;
+    }
+
+    // 토픽 구독 응답은 오류 코드 대신 "registration-token-not-registered" 같은 사유 문자열을 준다.
+    public static PushErrorCode fromTopicReason(String reason) {
+        if (reason == null) {
+            return UNKNOWN;
+        }
+        if (reason.contains("not-registered")) {
+            return UNREGISTERED;
+        }
+        if (reason.contains("invalid-argument")) {
+            return INVALID_ARGUMENT;
+        }
+        return UNKNOWN;
+    }
+
+    public static PushErrorCode from(MessagingErrorCode messagingErrorCode, String message) {
+        if (messagingErrorCode == MessagingErrorCode.INVALID_ARGUMENT && message != null
+                && message.toLowerCase(Locale.ROOT).contains("registration token")) {
+            return INVALID_REGISTRATION_TOKEN;
+        }
+        return from(messagingErrorCode);
+    }
+
+    public static PushErrorCode from(MessagingErrorCode messagingErrorCode) {
+        if (messagingErrorCode == null) {
+            return UNKNOWN;
+        }
+        return switch (messagingErrorCode) {
+            case UNREGISTERED -> UNREGISTERED;
+            case INVALID_ARGUMENT -> INVALID_ARGUMENT;
+            case SENDER_ID_MISMATCH -> SENDER_ID_MISMATCH;
+            case QUOTA_EXCEEDED -> QUOTA_EXCEEDED;
+            case UNAVAILABLE -> UNAVAILABLE;
+            case INTERNAL -> INTERNAL;
+            case THIRD_PARTY_AUTH_ERROR -> THIRD_PARTY_AUTH_ERROR;
+            default -> UNKNOWN;
+        };
+    }
+}
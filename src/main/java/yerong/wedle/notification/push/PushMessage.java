@@ -0,0 +1,31 @@
+package yerong.wedle.notification.push;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class PushMessage {
+
+    private final String idempotencyKey;
+    private final String topic;
+    private final String title;
+    private final String body;
+    private final List<String> registrationTokens;
+    @Builder.Default
+    private final PushTier tier = PushTier.INFORMATIONAL;
+    private final String collapseKey;
+    private final LocalDateTime expiresAt;
+
+    // 유효 기간은 적재 시각이 아니라 실제 발송 시각을 기준으로 남은 시간만큼만 준다.
+    public Duration getRemainingTtl(LocalDateTime now) {
+        if (expiresAt == null) {
+            return tier.getTtl();
+        }
+        Duration remaining = Duration.between(now, expiresAt);
+        return remaining.isNegative() ? Duration.ZERO : remaining;
+    }
+}
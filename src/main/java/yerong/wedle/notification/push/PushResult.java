@@ -0,0 +1,17 @@
+package yerong.wedle.notification.push;
+
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class PushResult {
+
+    private final int successCount;
+    private final Map<String, PushErrorCode> failedTokens;
+
+    public int getFailureCount() {
+        return failedTokens.size();
+    }
+}
@@ -0,0 +1,15 @@
+package yerong.wedle.notification.push;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public interface PushSender {
+
+    CompletableFuture<PushResult> sendMulticast(PushMessage message);
+
+    CompletableFuture<PushResult> sendToTopic(PushMessage message);
+
+    CompletableFuture<PushResult> subscribeToTopic(List<String> registrationTokens, String topic);
+
+    CompletableFuture<PushResult> unsubscribeFromTopic(List<String> registrationTokens, String topic);
+}
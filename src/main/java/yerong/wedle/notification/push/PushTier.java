@@ -0,0 +1,63 @@
+package yerong.wedle.notification.push;
+
+import java.time.Duration;
+import yerong.wedle.calendar.domain.CalendarEventType;
+
+/**
+ * 일정 종류별 발송 등급. 등급마다 아웃박스 처리 우선순위, 유효 기간, collapse key가 다르다.
+ * 접수 마감과 시험처럼 놓치면 안 되는 알림은 부하가 몰려도 먼저 발송되고, 안내성 알림은 유효 기간이 지나면 발송하지 않는다.
+ */
+public enum PushTier {
+
+    URGENT("마감 알림", 10, Duration.ofHours(12), "deadline", true),
+    INFORMATIONAL("안내 알림", 0, Duration.ofHours(6), "info", false);
+
+    private final String displayName;
+    private final int priority;
+    private final Duration ttl;
+    private final String collapsePrefix;
+    private final boolean highPriority;
+
+    PushTier(String displayName, int priority, Duration ttl, String collapsePrefix, boolean highPriority) {
+        this.displayName = displayName;
+        this.priority = priority;
+        this.ttl = ttl;
+        this.collapsePrefix = collapsePrefix;
+        this.highPriority = highPriority;
+    }
+
+    public static PushTier from(CalendarEventType calendarEventType) {
+        if (calendarEventType == null) {
+            return INFORMATIONAL;
+        }
+        return switch (calendarEventType) {
+            case COLLEGE_ENTRANCE_EXAM, EARLY_ADMISSION, REGULAR_ADMISSION -> URGENT;
+            case UNIVERSITY_COOPERATION_EVENT -> INFORMATIONAL;
+        };
+    }
+
+    public static PushTier higher(PushTier a, PushTier b) {
+        return a.priority >= b.priority ? a : b;
+    }
+
+    // 같은 등급의 같은 그룹 알림만 기기에서 최신 알림으로 대체된다.
+    public String collapseKey(Object group) {
+        return collapsePrefix + "-" + group;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public boolean isHighPriority() {
+        return highPriority;
+    }
+}
@@ -0,0 +1,92 @@
+package yerong.wedle.notification.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import yerong.wedle.notification.domain.DeviceToken;
+import yerong.wedle.notification.domain.Notification;
+
+/**
+ * 기기 토큰을 MySQL upsert로 저장한다. 같은 토큰이 동시에 등록되어도 unique 제약 위반 없이 마지막 회원에게 연결된다.
+ * 테이블과 컬럼 이름은 Hibernate 매핑에서 가져와 naming 전략이 바뀌어도 그대로 동작한다.
+ */
+@Repository
+public class DeviceTokenBulkRepository {
+
+    // 알림마다 토큰을 복사해 두던 이전 컬렉션 테이블
+    private static final String LEGACY_TABLE = "notification_registration_tokens";
+    private static final String LEGACY_JOIN_COLUMN = "notification_notification_id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public DeviceTokenBulkRepository(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    public void upsert(Long memberId, Collection<String> tokens) {
+        AbstractEntityPersister persister = persister(DeviceToken.class);
+        String memberColumn = column(persister, "member");
+        String updatedAtColumn = column(persister, "updatedAt");
+        String sql = "INSERT INTO " + persister.getTableName() + " ("
+                + String.join(", ", column(persister, "token"), memberColumn,
+                column(persister, "createdAt"), updatedAtColumn)
+                + ") VALUES (?, ?, ?, ?) ON DUPLICATE KEY UPDATE "
+                + memberColumn + " = VALUES(" + memberColumn + "), "
+                + updatedAtColumn + " = VALUES(" + updatedAtColumn + ")";
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(tokens.size());
+        for (String token : tokens) {
+            rows.add(new Object[]{token, memberId, now, now});
+        }
+        jdbcTemplate.batchUpdate(sql, rows);
+    }
+
+    /**
+     * 이전 컬렉션 테이블의 토큰을 device_token으로 옮기고, 다시 옮겨지지 않도록 테이블 이름을 바꾼다.
+     * 같은 토큰이 여러 회원에게 있으면 가장 최근 알림의 회원에게 연결한다. 옮긴 토큰 수를 반환한다.
+     */
+    public int migrateLegacyTokens() {
+        Integer tables = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM information_schema.tables "
+                + "WHERE table_schema = DATABASE() AND table_name = ?", Integer.class, LEGACY_TABLE);
+        if (tables == null || tables == 0) {
+            return -1;
+        }
+        String tokenColumn = jdbcTemplate.queryForObject("SELECT column_name FROM information_schema.columns "
+                        + "WHERE table_schema = DATABASE() AND table_name = ? AND column_name <> ? LIMIT 1",
+                String.class, LEGACY_TABLE, LEGACY_JOIN_COLUMN);
+
+        AbstractEntityPersister deviceToken = persister(DeviceToken.class);
+        AbstractEntityPersister notification = persister(Notification.class);
+        String notificationId = notification.getIdentifierColumnNames()[0];
+        int migrated = jdbcTemplate.update("INSERT IGNORE INTO " + deviceToken.getTableName() + " ("
+                + String.join(", ", column(deviceToken, "token"), column(deviceToken, "member"),
+                column(deviceToken, "createdAt"), column(deviceToken, "updatedAt"))
+                + ") SELECT t." + tokenColumn + ", n." + column(notification, "member") + ", NOW(6), NOW(6)"
+                + " FROM " + LEGACY_TABLE + " t JOIN " + notification.getTableName() + " n"
+                + " ON n." + notificationId + " = t." + LEGACY_JOIN_COLUMN
+                + " WHERE t." + tokenColumn + " IS NOT NULL AND t." + tokenColumn + " <> ''"
+                + " ORDER BY n." + notificationId + " DESC");
+        jdbcTemplate.execute("RENAME TABLE " + LEGACY_TABLE + " TO " + LEGACY_TABLE + "_migrated");
+        return migrated;
+    }
+
+    private AbstractEntityPersister persister(Class<?> entityClass) {
+        return (AbstractEntityPersister) entityManagerFactory
+                .unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel()
+                .getEntityDescriptor(entityClass);
+    }
+
+    private static String column(AbstractEntityPersister persister, String propertyName) {
+        return persister.getPropertyColumnNames(propertyName)[0];
+    }
+}
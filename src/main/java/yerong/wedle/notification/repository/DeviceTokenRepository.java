@@ -0,0 +1,45 @@
+package yerong.wedle.notification.repository;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import yerong.wedle.member.domain.Member;
+import yerong.wedle.notification.domain.DeviceToken;
+
+public interface DeviceTokenRepository extends JpaRepository<DeviceToken, Long> {
+
+    Optional<DeviceToken> findByToken(String token);
+
+    List<DeviceToken> findByTokenIn(Collection<String> tokens);
+
+    @Query("SELECT d.token FROM DeviceToken d WHERE d.member = :member")
+    List<String> findTokensByMember(@Param("member") Member member);
+
+    @Query("SELECT d.member.memberId, d.token FROM DeviceToken d WHERE d.member.memberId IN :memberIds")
+    List<Object[]> findMemberIdAndTokenByMemberIdIn(@Param("memberIds") Collection<Long> memberIds);
+
+    // 요약 알림을 켠 회원은 토픽 발송 대상에서 제외한다.
+    @Query("SELECT d.deviceTokenId, d.token FROM DeviceToken d JOIN d.member m, Notification n "
+            + "WHERE n.member = m AND n.event.id = :eventId AND n.notificationDate = :notificationDate "
+            + "AND n.notificationTime = :notificationTime AND n.isActive = true AND m.digestEnabled = false "
+            + "AND d.deviceTokenId > :lastId ORDER BY d.deviceTokenId")
+    List<Object[]> findTopicTokens(@Param("eventId") Long eventId,
+                                   @Param("notificationDate") LocalDate notificationDate,
+                                   @Param("notificationTime") LocalTime notificationTime,
+                                   @Param("lastId") Long lastId, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM DeviceToken d WHERE d.member = :member AND d.token = :token")
+    int deleteByMemberAndToken(@Param("member") Member member, @Param("token") String token);
+
+    @Modifying
+    @Query("DELETE FROM DeviceToken d WHERE d.token IN :tokens")
+    int deleteByTokenIn(@Param("tokens") Collection<String> tokens);
+}
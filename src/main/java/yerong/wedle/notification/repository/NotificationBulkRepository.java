@@ -0,0 +1,74 @@
+package yerong.wedle.notification.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import yerong.wedle.notification.domain.Notification;
+
+/**
+ * 알림을 JDBC batch로 한 번에 저장한다. IDENTITY 전략에서는 Hibernate가 insert를 묶지 않기 때문이다.
+ * 테이블과 컬럼 이름은 Hibernate 매핑에서 가져와 naming 전략이 바뀌어도 그대로 동작한다.
+ */
+@Repository
+public class NotificationBulkRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final int batchSize;
+    private volatile String insertSql;
+
+    public NotificationBulkRepository(JdbcTemplate jdbcTemplate,
+                                      EntityManagerFactory entityManagerFactory,
+                                      @Value("${notification.bulk.batch-size:100}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.batchSize = batchSize;
+    }
+
+    public void insertAll(Long memberId, Long eventId, List<LocalDate> notificationDates, LocalTime notificationTime) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(insertSql(), notificationDates, batchSize, (ps, notificationDate) -> {
+            ps.setDate(1, Date.valueOf(notificationDate));
+            ps.setTime(2, notificationTime == null ? null : Time.valueOf(notificationTime));
+            ps.setLong(3, eventId);
+            ps.setBoolean(4, true);
+            ps.setLong(5, memberId);
+            ps.setTimestamp(6, now);
+            ps.setTimestamp(7, now);
+        });
+    }
+
+    private String insertSql() {
+        if (insertSql == null) {
+            AbstractEntityPersister persister = (AbstractEntityPersister) entityManagerFactory
+                    .unwrap(SessionFactoryImplementor.class)
+                    .getMappingMetamodel()
+                    .getEntityDescriptor(Notification.class);
+            insertSql = "INSERT INTO " + persister.getTableName() + " ("
+                    + String.join(", ",
+                    column(persister, "notificationDate"),
+                    column(persister, "notificationTime"),
+                    column(persister, "event"),
+                    column(persister, "isActive"),
+                    column(persister, "member"),
+                    column(persister, "createdAt"),
+                    column(persister, "updatedAt"))
+                    + ") VALUES (?, ?, ?, ?, ?, ?, ?)";
+        }
+        return insertSql;
+    }
+
+    private static String column(AbstractEntityPersister persister, String propertyName) {
+        return persister.getPropertyColumnNames(propertyName)[0];
+    }
+}
@@ -0,0 +1,33 @@
+package yerong.wedle.notification.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import yerong.wedle.notification.domain.NotificationOutbox;
+import yerong.wedle.notification.domain.OutboxStatus;
+
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutbox, Long> {
+
+    @Query(value = "SELECT * FROM notification_outbox "
+            + "WHERE (status = 'PENDING' AND next_attempt_at <= :now) "
+            + "OR (status = 'SENDING' AND locked_until < :now) "
+            + "ORDER BY priority DESC, next_attempt_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<NotificationOutbox> findClaimable(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * 스트림 전달이 확인된 알림의 FCM 발송을 취소한다. 이미 발송을 시작한 항목은 바꾸지 않는다.
+     */
+    @Modifying
+    @Query("UPDATE NotificationOutbox o SET o.status = :sent, o.updatedAt = :now "
+            + "WHERE o.outboxId IN :ids AND o.status = :pending")
+    int markStreamed(@Param("ids") Collection<Long> ids, @Param("sent") OutboxStatus sent,
+                     @Param("pending") OutboxStatus pending, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM NotificationOutbox o WHERE o.status = :status AND o.updatedAt < :before")
+    int deleteByStatusAndUpdatedAtBefore(@Param("status") OutboxStatus status, @Param("before") LocalDateTime before);
+}
@@ -2,12 +2,18 @@ package yerong.wedle.notification.repository;
 
 import jakarta.validation.constraints.NotNull;
 import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import yerong.wedle.calendar.domain.CalendarEvent;
 import yerong.wedle.member.domain.Member;
 import yerong.wedle.notification.domain.Notification;
+import yerong.wedle.notification.dto.NotificationSummary;
 
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
 
@@ -21,4 +27,51 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
 
     Optional<Notification> findByMemberAndEventAndNotificationDate(Member member, CalendarEvent calendarEvent,
                                                                    @NotNull LocalDate notificationDate);
+
+    @Query("SELECT new yerong.wedle.notification.dto.NotificationSummary(n.notificationId, e.title, "
+            + "e.calendarEventType, n.notificationDate, n.notificationTime, e.id, n.isActive) "
+            + "FROM Notification n JOIN n.event e "
+            + "WHERE n.member = :member AND n.isActive = true AND n.notificationId > :cursor "
+            + "ORDER BY n.notificationId")
+    List<NotificationSummary> findActiveSummariesByMember(@Param("member") Member member,
+                                                          @Param("cursor") Long cursor, Pageable pageable);
+
+    @Query("SELECT n.notificationDate FROM Notification n "
+            + "WHERE n.member = :member AND n.event = :event AND n.notificationDate IN :dates")
+    List<LocalDate> findNotificationDates(@Param("member") Member member, @Param("event") CalendarEvent event,
+                                          @Param("dates") Collection<LocalDate> dates);
+
+    @Query("SELECT n.event.id, n.notificationDate, n.notificationId, n.isActive FROM Notification n "
+            + "WHERE n.member = :member AND n.event IN :events")
+    List<Object[]> findStatesByMemberAndEventIn(@Param("member") Member member,
+                                                @Param("events") Collection<CalendarEvent> events);
+
+    @Query("SELECT n.notificationId, n.notificationDate FROM Notification n "
+            + "WHERE n.member = :member AND n.event = :event AND n.notificationDate IN :dates")
+    List<Object[]> findIdAndDateByMemberAndEventAndDateIn(@Param("member") Member member,
+                                                           @Param("event") CalendarEvent event,
+                                                           @Param("dates") Collection<LocalDate> dates);
+
+    @Query("SELECT n.notificationId, n.event.id, m.memberId, n.notificationTime, m.digestEnabled "
+            + "FROM Notification n JOIN n.member m "
+            + "WHERE n.notificationDate = :notificationDate AND n.isActive = true "
+            + "AND (n.notificationTime IS NULL OR m.digestEnabled = true "
+            + "OR (n.notificationTime >= :fromTime AND n.notificationTime < :toTime)) "
+            + "AND MOD(m.memberId, :shardCount) = :shard "
+            + "AND n.notificationId > :lastId ORDER BY n.notificationId")
+    List<Object[]> findScheduleKeys(@Param("notificationDate") LocalDate notificationDate,
+                                    @Param("fromTime") LocalTime fromTime, @Param("toTime") LocalTime toTime,
+                                    @Param("shardCount") int shardCount, @Param("shard") int shard,
+                                    @Param("lastId") Long lastId, Pageable pageable);
+
+    @Query("SELECT n FROM Notification n JOIN FETCH n.event WHERE n.notificationId IN :ids")
+    List<Notification> findAllWithEventByIdIn(@Param("ids") List<Long> ids);
+
+    // 발송 시각까지 같은 알림만 한 토픽으로 묶는다.
+    @Query("SELECT n.event.id, n.notificationDate, n.notificationTime, COUNT(n) FROM Notification n JOIN n.member m "
+            + "WHERE n.notificationDate BETWEEN :from AND :to AND n.notificationTime IS NOT NULL "
+            + "AND n.isActive = true AND m.digestEnabled = false "
+            + "GROUP BY n.event.id, n.notificationDate, n.notificationTime HAVING COUNT(n) >= :threshold")
+    List<Object[]> findPopularGroups(@Param("from") LocalDate from, @Param("to") LocalDate to,
+                                     @Param("threshold") long threshold);
 }
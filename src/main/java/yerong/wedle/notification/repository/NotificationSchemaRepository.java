@@ -0,0 +1,39 @@
+package yerong.wedle.notification.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 매핑이 바뀌어 더 이상 쓰지 않는 제약 조건을 정리한다. ddl-auto update는 이전 인덱스를 지우지 않기 때문이다.
+ */
+@Repository
+public class NotificationSchemaRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public NotificationSchemaRepository(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    /**
+     * 인덱스가 있으면 삭제하고 true를 반환한다.
+     */
+    public boolean dropIndexIfExists(Class<?> entityClass, String indexName) {
+        String table = ((AbstractEntityPersister) entityManagerFactory
+                .unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel()
+                .getEntityDescriptor(entityClass)).getTableName();
+        Integer indexes = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM information_schema.statistics "
+                + "WHERE table_schema = DATABASE() AND table_name = ? AND index_name = ?", Integer.class, table, indexName);
+        if (indexes == null || indexes == 0) {
+            return false;
+        }
+        jdbcTemplate.execute("ALTER TABLE " + table + " DROP INDEX " + indexName);
+        return true;
+    }
+}
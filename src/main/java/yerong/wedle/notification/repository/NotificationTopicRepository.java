@@ -0,0 +1,45 @@
+package yerong.wedle.notification.repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import yerong.wedle.notification.domain.NotificationTopic;
+import yerong.wedle.notification.domain.TopicStatus;
+
+public interface NotificationTopicRepository extends JpaRepository<NotificationTopic, Long> {
+
+    @Query("SELECT t FROM NotificationTopic t WHERE t.event.id = :eventId AND t.notificationDate = :notificationDate "
+            + "AND t.notificationTime = :notificationTime")
+    Optional<NotificationTopic> findByEventIdAndNotificationDateAndTime(@Param("eventId") Long eventId,
+                                                                        @Param("notificationDate") LocalDate notificationDate,
+                                                                        @Param("notificationTime") LocalTime notificationTime);
+
+    @Query("SELECT t FROM NotificationTopic t "
+            + "WHERE t.event.id IN :eventIds AND t.notificationDate IN :notificationDates")
+    List<NotificationTopic> findByEventIdInAndNotificationDateIn(@Param("eventIds") Collection<Long> eventIds,
+                                                                 @Param("notificationDates") Collection<LocalDate> notificationDates);
+
+    List<NotificationTopic> findByStatusAndNotificationDateAfter(TopicStatus status, LocalDate date);
+
+    // 회원의 알림과 발송 시각까지 같고 아직 구독을 받는 토픽
+    @Query("SELECT DISTINCT t FROM NotificationTopic t, Notification n "
+            + "WHERE n.member.memberId = :memberId AND n.isActive = true AND n.notificationDate >= :from "
+            + "AND t.event = n.event AND t.notificationDate = n.notificationDate "
+            + "AND t.notificationTime = n.notificationTime AND t.status IN :statuses")
+    List<NotificationTopic> findByMemberId(@Param("memberId") Long memberId, @Param("from") LocalDate from,
+                                           @Param("statuses") Collection<TopicStatus> statuses);
+
+    // 여러 shard가 같은 토픽의 알림을 동시에 처리해도 READY에서 SENT로 바꾼 한 곳만 발송한다.
+    @Modifying
+    @Query("UPDATE NotificationTopic t SET t.status = yerong.wedle.notification.domain.TopicStatus.SENT, "
+            + "t.sentAt = :sentAt WHERE t.notificationTopicId = :id "
+            + "AND t.status = yerong.wedle.notification.domain.TopicStatus.READY")
+    int markSent(@Param("id") Long id, @Param("sentAt") LocalDateTime sentAt);
+}
@@ -0,0 +1,110 @@
+package yerong.wedle.notification.service;
+
+import jakarta.transaction.Transactional;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import yerong.wedle.member.domain.Member;
+import yerong.wedle.member.exception.MemberNotFoundException;
+import yerong.wedle.member.repository.MemberRepository;
+import yerong.wedle.notification.repository.DeviceTokenBulkRepository;
+import yerong.wedle.notification.repository.DeviceTokenRepository;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DeviceTokenService {
+    private final DeviceTokenRepository deviceTokenRepository;
+    private final DeviceTokenBulkRepository deviceTokenBulkRepository;
+    private final MemberRepository memberRepository;
+    private final NotificationTopicService notificationTopicService;
+
+    /**
+     * 알림 행마다 복사해 두던 이전 토큰을 기기 토큰 테이블로 옮긴다. 옮긴 뒤에는 이전 테이블 이름이 바뀌어 다시 실행되지 않는다.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateLegacyTokens() {
+        try {
+            int migrated = deviceTokenBulkRepository.migrateLegacyTokens();
+            if (migrated >= 0) {
+                log.info("이전 알림 토큰 {}건을 기기 토큰으로 옮겼습니다.", migrated);
+            }
+        } catch (Exception e) {
+            log.error("이전 알림 토큰을 옮기지 못했습니다. {}", e.getMessage());
+        }
+    }
+
+    @Transactional
+    public void registerToken(String token) {
+        registerTokens(getCurrentMember(), List.of(token));
+    }
+
+    @Transactional
+    public void deleteToken(String token) {
+        deviceTokenRepository.deleteByMemberAndToken(getCurrentMember(), token);
+    }
+
+    @Transactional
+    public void registerTokens(Member member, Collection<String> tokens) {
+        if (tokens == null || tokens.isEmpty()) {
+            return;
+        }
+        Set<String> newTokens = new LinkedHashSet<>();
+        for (String token : tokens) {
+            if (token != null && !token.isBlank()) {
+                newTokens.add(token);
+            }
+        }
+        if (newTokens.isEmpty()) {
+            return;
+        }
+        // 같은 토큰이 동시에 등록되면 unique 제약에 걸리므로 upsert로 저장하고, 다른 회원의 토큰이면 옮긴다.
+        deviceTokenBulkRepository.upsert(member.getMemberId(), newTokens);
+        // 이미 토픽으로 전환된 알림이 있으면 새 토큰도 구독시켜야 토픽 발송에서 빠지지 않는다.
+        notificationTopicService.subscribeTokens(member, newTokens);
+    }
+
+    public List<String> getTokens(Member member) {
+        return deviceTokenRepository.findTokensByMember(member);
+    }
+
+    public Map<Long, List<String>> getTokensByMemberIds(Collection<Long> memberIds) {
+        Map<Long, List<String>> tokensByMember = new HashMap<>();
+        if (memberIds.isEmpty()) {
+            return tokensByMember;
+        }
+        for (Object[] row : deviceTokenRepository.findMemberIdAndTokenByMemberIdIn(memberIds)) {
+            tokensByMember.computeIfAbsent((Long) row[0], memberId -> new ArrayList<>()).add((String) row[1]);
+        }
+        return tokensByMember;
+    }
+
+    // FCM이 등록 해제되었거나 잘못되었다고 응답한 토큰을 삭제해 이후 발송 대상에서 제외한다.
+    @Transactional
+    public void pruneTokens(Collection<String> tokens) {
+        if (tokens.isEmpty()) {
+            return;
+        }
+        int deleted = deviceTokenRepository.deleteByTokenIn(tokens);
+        log.info("유효하지 않은 기기 토큰 {}건을 삭제했습니다.", deleted);
+    }
+
+    private Member getCurrentMember() {
+        String socialId = SecurityContextHolder.getContext().getAuthentication().getName();
+        return memberRepository.findBySocialId(socialId)
+                .orElseThrow(MemberNotFoundException::new);
+    }
+}
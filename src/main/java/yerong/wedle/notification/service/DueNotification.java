@@ -0,0 +1,16 @@
+package yerong.wedle.notification.service;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
+public class DueNotification {
+
+    private final Long notificationId;
+    private final Long eventId;
+    private final Long memberId;
+    private final boolean digest;
+}
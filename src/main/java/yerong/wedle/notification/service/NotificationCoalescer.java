@@ -0,0 +1,94 @@
+package yerong.wedle.notification.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import yerong.wedle.common.utils.FcmUtils;
+import yerong.wedle.notification.domain.Notification;
+import yerong.wedle.notification.push.PushMessage;
+import yerong.wedle.notification.push.PushTier;
+
+/**
+ * 같은 (이벤트, 날짜)의 알림을 하나로 묶고 회원의 기기 토큰을 모아 중복을 제거해 최대 500개 토큰의 멀티캐스트로 나눈다.
+ * 페이지가 이벤트 순으로 들어오므로 페이지 경계를 넘는 같은 이벤트의 토큰도 한 번만 발송한다.
+ * 메시지의 발송 등급은 이벤트의 일정 종류로 정한다. 각 배치의 멱등성 키는 배치에 처음 포함된 알림 ID로 만들어, 같은 페이지를 두 번 적재하면 충돌하도록 한다.
+ * 발송 한 번마다 새로 생성해서 사용한다.
+ */
+public class NotificationCoalescer {
+
+    static final String NOTIFICATION_TITLE = "WEDLE";
+
+    private final Set<String> sentTokens = new HashSet<>();
+    private Long currentEventId;
+    private LocalDate currentDate;
+    private PushTier currentTier;
+    private Long batchFirstNotificationId;
+
+    public List<PushMessage> coalesce(List<Notification> notifications, Map<Long, List<String>> tokensByMember) {
+        List<Notification> sorted = new ArrayList<>(notifications);
+        sorted.sort(Comparator.comparing((Notification notification) -> notification.getEvent().getId())
+                .thenComparing(Notification::getNotificationId));
+
+        List<PushMessage> messages = new ArrayList<>();
+        List<String> batch = new ArrayList<>(FcmUtils.FCM_PUSH_LIMIT_SIZE);
+        String body = null;
+
+        for (Notification notification : sorted) {
+            if (!isCurrentGroup(notification)) {
+                flush(messages, batch, body);
+                currentEventId = notification.getEvent().getId();
+                currentDate = notification.getNotificationDate();
+                currentTier = PushTier.from(notification.getEvent().getCalendarEventType());
+                sentTokens.clear();
+                body = notification.getEvent().getTitle() + " 일정 당일입니다";
+            } else if (body == null) {
+                body = notification.getEvent().getTitle() + " 일정 당일입니다";
+            }
+
+            List<String> tokens = tokensByMember.get(notification.getMember().getMemberId());
+            if (tokens == null) {
+                continue;
+            }
+            for (String token : tokens) {
+                if (token == null || !sentTokens.add(token)) {
+                    continue;
+                }
+                if (batch.isEmpty()) {
+                    batchFirstNotificationId = notification.getNotificationId();
+                }
+                batch.add(token);
+                if (batch.size() == FcmUtils.FCM_PUSH_LIMIT_SIZE) {
+                    flush(messages, batch, body);
+                }
+            }
+        }
+        flush(messages, batch, body);
+        return messages;
+    }
+
+    private boolean isCurrentGroup(Notification notification) {
+        return Objects.equals(currentEventId, notification.getEvent().getId())
+                && Objects.equals(currentDate, notification.getNotificationDate());
+    }
+
+    private void flush(List<PushMessage> messages, List<String> batch, String body) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        messages.add(PushMessage.builder()
+                .idempotencyKey(currentDate + ":" + currentEventId + ":" + batchFirstNotificationId
+                        + ":" + messages.size())
+                .title(NOTIFICATION_TITLE)
+                .body(body)
+                .registrationTokens(List.copyOf(batch))
+                .tier(currentTier)
+                .collapseKey(currentTier.collapseKey(currentEventId))
+                .build());
+        batch.clear();
+    }
+}
@@ -0,0 +1,82 @@
+package yerong.wedle.notification.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import yerong.wedle.common.utils.FcmUtils;
+import yerong.wedle.notification.domain.Notification;
+import yerong.wedle.notification.push.PushMessage;
+import yerong.wedle.notification.push.PushTier;
+
+/**
+ * 요약 알림을 켠 회원의 같은 날 알림을 회원 순으로 한 번 훑으며 회원별 하나의 알림으로 합친다.
+ * 요약 알림의 발송 등급은 포함된 일정 중 가장 높은 등급을 따른다.
+ */
+public class NotificationDigestCoalescer {
+
+    private static final int MAX_LISTED_TITLES = 2;
+
+    public List<PushMessage> coalesce(List<Notification> notifications, Map<Long, List<String>> tokensByMember) {
+        List<Notification> sorted = new ArrayList<>(notifications);
+        sorted.sort(Comparator.comparing((Notification notification) -> notification.getMember().getMemberId())
+                .thenComparing(Notification::getNotificationDate)
+                .thenComparing(Notification::getNotificationId));
+
+        List<PushMessage> messages = new ArrayList<>();
+        int from = 0;
+        while (from < sorted.size()) {
+            Notification first = sorted.get(from);
+            Set<String> titles = new LinkedHashSet<>();
+            PushTier tier = PushTier.INFORMATIONAL;
+            int to = from;
+            while (to < sorted.size() && isSameGroup(first, sorted.get(to))) {
+                titles.add(sorted.get(to).getEvent().getTitle());
+                tier = PushTier.higher(tier, PushTier.from(sorted.get(to).getEvent().getCalendarEventType()));
+                to++;
+            }
+            addMessages(messages, first, titles, tier, tokensByMember.get(first.getMember().getMemberId()));
+            from = to;
+        }
+        return messages;
+    }
+
+    private boolean isSameGroup(Notification first, Notification notification) {
+        return Objects.equals(first.getMember().getMemberId(), notification.getMember().getMemberId())
+                && Objects.equals(first.getNotificationDate(), notification.getNotificationDate());
+    }
+
+    private void addMessages(List<PushMessage> messages, Notification first, Set<String> titles, PushTier tier,
+                             List<String> tokens) {
+        if (tokens == null || tokens.isEmpty()) {
+            return;
+        }
+        LocalDate date = first.getNotificationDate();
+        String body = summarize(new ArrayList<>(titles));
+        for (int i = 0; i * FcmUtils.FCM_PUSH_LIMIT_SIZE < tokens.size(); i++) {
+            List<String> batch = tokens.subList(i * FcmUtils.FCM_PUSH_LIMIT_SIZE,
+                    Math.min((i + 1) * FcmUtils.FCM_PUSH_LIMIT_SIZE, tokens.size()));
+            messages.add(PushMessage.builder()
+                    .idempotencyKey("digest:" + date + ":" + first.getMember().getMemberId() + ":"
+                            + first.getNotificationId() + ":" + i)
+                    .title(NotificationCoalescer.NOTIFICATION_TITLE)
+                    .body(body)
+                    .registrationTokens(List.copyOf(batch))
+                    .tier(tier)
+                    .collapseKey(tier.collapseKey("digest-" + date))
+                    .build());
+        }
+    }
+
+    static String summarize(List<String> titles) {
+        if (titles.size() <= MAX_LISTED_TITLES) {
+            return String.join(", ", titles) + " 일정 당일입니다";
+        }
+        return String.join(", ", titles.subList(0, MAX_LISTED_TITLES)) + " 외 "
+                + (titles.size() - MAX_LISTED_TITLES) + "개 일정이 오늘입니다";
+    }
+}
@@ -0,0 +1,400 @@
+package yerong.wedle.notification.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import yerong.wedle.calendar.domain.CalendarEvent;
+import yerong.wedle.common.lease.Lease;
+import yerong.wedle.common.lease.RedisLeaseCoordinator;
+import yerong.wedle.member.repository.MemberRepository;
+import yerong.wedle.notification.domain.Notification;
+import yerong.wedle.notification.domain.NotificationOutbox;
+import yerong.wedle.notification.domain.NotificationTopic;
+import yerong.wedle.notification.domain.TopicStatus;
+import yerong.wedle.notification.dto.NotificationStreamEvent;
+import yerong.wedle.notification.push.PushMessage;
+import yerong.wedle.notification.push.PushTier;
+import yerong.wedle.notification.repository.NotificationOutboxRepository;
+import yerong.wedle.notification.repository.NotificationRepository;
+import yerong.wedle.notification.repository.NotificationTopicRepository;
+
+/**
+ * 발송 시각이 된 알림을 (이벤트, ID) 순으로 페이지 단위로 읽어 이벤트별 멀티캐스트로 묶고, 아웃박스에 적재한다.
+ * 요약 알림을 켠 회원의 알림은 회원 순으로 따로 읽어 회원별 하나의 알림으로 합친다. 요약 여부는 예약 시점이 아니라 발송 시점의 설정을 따른다.
+ * 앱을 열어 SSE 스트림이 연결된 회원에게는 스트림으로 먼저 보내고, 확인 대기 시간 안에 전달이 확인되지 않으면 FCM으로 보낸다.
+ * 토픽으로 전환된 (이벤트, 날짜, 발송 시각)의 알림은 멀티캐스트 대신 토픽 메시지 하나로 발송하며, 여러 shard 중 한 곳만 토픽을 발송한다.
+ * 아웃박스 적재와 원본 알림 삭제는 한 트랜잭션에서 처리되므로 중간에 서버가 종료되어도 중복이나 유실이 없다.
+ * 실제 발송은 {@link NotificationOutboxWorker}가 담당한다.
+ */
+@Slf4j
+@Component
+public class NotificationDispatcher {
+
+    private final NotificationRepository notificationRepository;
+    private final NotificationOutboxRepository notificationOutboxRepository;
+    private final NotificationTopicRepository notificationTopicRepository;
+    private final NotificationTopicService notificationTopicService;
+    private final NotificationStreamService notificationStreamService;
+    private final DeviceTokenService deviceTokenService;
+    private final MemberRepository memberRepository;
+    private final RedisLeaseCoordinator leaseCoordinator;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final int pageSize;
+    private final Duration streamAckWindow;
+
+    public NotificationDispatcher(NotificationRepository notificationRepository,
+                                  NotificationOutboxRepository notificationOutboxRepository,
+                                  NotificationTopicRepository notificationTopicRepository,
+                                  NotificationTopicService notificationTopicService,
+                                  NotificationStreamService notificationStreamService,
+                                  DeviceTokenService deviceTokenService,
+                                  MemberRepository memberRepository,
+                                  RedisLeaseCoordinator leaseCoordinator,
+                                  TransactionTemplate transactionTemplate,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${notification.dispatch.page-size:500}") int pageSize,
+                                  @Value("${notification.stream.ack-window-ms:10000}") long streamAckWindowMillis) {
+        this.notificationRepository = notificationRepository;
+        this.notificationOutboxRepository = notificationOutboxRepository;
+        this.notificationTopicRepository = notificationTopicRepository;
+        this.notificationTopicService = notificationTopicService;
+        this.notificationStreamService = notificationStreamService;
+        this.deviceTokenService = deviceTokenService;
+        this.memberRepository = memberRepository;
+        this.leaseCoordinator = leaseCoordinator;
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
+        this.pageSize = pageSize;
+        this.streamAckWindow = Duration.ofMillis(streamAckWindowMillis);
+    }
+
+    /**
+     * leases는 알림을 담당하는 shard의 점유다. 적재 트랜잭션마다 점유를 확인하고 커밋 직전에 다시 확인해,
+     * 발송 도중 shard가 다른 서버로 넘어갔으면 롤백해 두 서버가 같은 알림을 적재하지 않게 한다.
+     */
+    public void dispatch(List<DueNotification> dueNotifications, Collection<Lease> leases) {
+        if (dueNotifications.isEmpty()) {
+            return;
+        }
+        long startedAt = System.nanoTime();
+        Set<Long> digestMemberIds = findDigestMemberIds(dueNotifications);
+        List<DueNotification> regular = new ArrayList<>();
+        List<DueNotification> digest = new ArrayList<>();
+        for (DueNotification dueNotification : dueNotifications) {
+            (digestMemberIds.contains(dueNotification.getMemberId()) ? digest : regular).add(dueNotification);
+        }
+        regular.sort(Comparator.comparing(DueNotification::getEventId)
+                .thenComparing(DueNotification::getNotificationId));
+        digest.sort(Comparator.comparing(DueNotification::getMemberId)
+                .thenComparing(DueNotification::getNotificationId));
+
+        NotificationCoalescer coalescer = new NotificationCoalescer();
+        NotificationDigestCoalescer digestCoalescer = new NotificationDigestCoalescer();
+        int[] regularCounts = dispatchPages(regular, false, coalescer::coalesce, leases);
+        int[] digestCounts = dispatchPages(digest, true, digestCoalescer::coalesce, leases);
+
+        report(regularCounts[0] + digestCounts[0], regularCounts[1], digestCounts[1], regularCounts[2],
+                System.nanoTime() - startedAt);
+    }
+
+    private Set<Long> findDigestMemberIds(List<DueNotification> dueNotifications) {
+        List<Long> memberIds = dueNotifications.stream()
+                .map(DueNotification::getMemberId)
+                .distinct()
+                .toList();
+        Set<Long> digestMemberIds = new HashSet<>();
+        for (int from = 0; from < memberIds.size(); from += pageSize) {
+            digestMemberIds.addAll(memberRepository.findDigestEnabledIds(
+                    memberIds.subList(from, Math.min(from + pageSize, memberIds.size()))));
+        }
+        return digestMemberIds;
+    }
+
+    /**
+     * 정렬된 알림을 페이지 단위로 읽어 묶은 뒤 적재한다. 요약 알림은 한 회원의 알림이 페이지 경계에서 나뉘지 않도록 한다.
+     */
+    private int[] dispatchPages(List<DueNotification> sorted, boolean digest,
+                                BiFunction<List<Notification>, Map<Long, List<String>>, List<PushMessage>> coalesce,
+                                Collection<Lease> leases) {
+        int notificationCount = 0;
+        int messageCount = 0;
+        int topicMessageCount = 0;
+        int streamedCount = 0;
+        int from = 0;
+        while (from < sorted.size()) {
+            int to = Math.min(from + pageSize, sorted.size());
+            while (digest && to < sorted.size()
+                    && sorted.get(to).getMemberId().equals(sorted.get(to - 1).getMemberId())) {
+                to++;
+            }
+            List<Long> ids = sorted.subList(from, to).stream()
+                    .map(DueNotification::getNotificationId)
+                    .toList();
+            from = to;
+
+            List<Notification> notifications = notificationRepository.findAllWithEventByIdIn(ids);
+            if (notifications.isEmpty()) {
+                continue;
+            }
+            Set<Long> memberIds = notifications.stream()
+                    .map(notification -> notification.getMember().getMemberId())
+                    .collect(Collectors.toSet());
+            Map<Long, List<String>> tokensByMember = deviceTokenService.getTokensByMemberIds(memberIds);
+
+            Map<NotificationTopic, List<Notification>> covered = digest
+                    ? Map.of() : findCovered(notifications, tokensByMember);
+            List<Notification> targets = notifications;
+            if (!covered.isEmpty()) {
+                Set<Notification> coveredNotifications = new HashSet<>();
+                covered.values().forEach(coveredNotifications::addAll);
+                targets = notifications.stream()
+                        .filter(notification -> !coveredNotifications.contains(notification))
+                        .toList();
+            }
+            List<Notification> pushTargets = targets;
+            List<StreamDelivery> streamDeliveries = List.of();
+            Set<Long> online = notificationStreamService.findOnline(targets.stream()
+                    .map(notification -> notification.getMember().getMemberId())
+                    .collect(Collectors.toSet()));
+            if (!online.isEmpty()) {
+                pushTargets = targets.stream()
+                        .filter(notification -> !online.contains(notification.getMember().getMemberId()))
+                        .toList();
+                streamDeliveries = toStreamDeliveries(targets.stream()
+                        .filter(notification -> online.contains(notification.getMember().getMemberId()))
+                        .toList(), digest, tokensByMember);
+            }
+            List<PushMessage> messages = coalesce.apply(pushTargets, tokensByMember);
+            List<Long> foundIds = notifications.stream()
+                    .map(Notification::getNotificationId)
+                    .toList();
+            topicMessageCount += enqueue(messages, streamDeliveries, covered, foundIds, leases);
+            notificationStreamService.publish(toStreamEvents(streamDeliveries, digest));
+            unsubscribeCovered(covered, tokensByMember);
+            notificationCount += foundIds.size();
+            messageCount += messages.size();
+            streamedCount += online.size();
+        }
+        meterRegistry.counter("notification.stream.delivered", "mode", digest ? "digest" : "event")
+                .increment(streamedCount);
+        return new int[]{notificationCount, messageCount, topicMessageCount};
+    }
+
+    /**
+     * 스트림이 연결된 회원의 알림을 FCM과 같은 단위(일반 알림은 알림별, 요약 알림은 회원과 날짜별)로 묶는다.
+     * 묶음마다 FCM 메시지를 만들어 두되 첫 발송을 확인 대기 시간만큼 미루고, 스트림 전달이 확인되면 취소한다.
+     */
+    private List<StreamDelivery> toStreamDeliveries(List<Notification> notifications, boolean digest,
+                                                    Map<Long, List<String>> tokensByMember) {
+        Map<List<Object>, List<Notification>> groups = new LinkedHashMap<>();
+        for (Notification notification : notifications) {
+            List<Object> key = digest
+                    ? List.of(notification.getMember().getMemberId(), notification.getNotificationDate())
+                    : List.of(notification.getNotificationId());
+            groups.computeIfAbsent(key, k -> new ArrayList<>()).add(notification);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime fallbackAt = now.plus(streamAckWindow);
+        List<StreamDelivery> deliveries = new ArrayList<>();
+        for (List<Notification> group : groups.values()) {
+            Long memberId = group.get(0).getMember().getMemberId();
+            Map<Long, List<String>> memberTokens = Map.of(memberId, tokensByMember.getOrDefault(memberId, List.of()));
+            List<PushMessage> fallbacks = digest
+                    ? new NotificationDigestCoalescer().coalesce(group, memberTokens)
+                    : new NotificationCoalescer().coalesce(group, memberTokens);
+            deliveries.add(new StreamDelivery(memberId, group, fallbacks.stream()
+                    .map(message -> NotificationOutbox.from(message, now, fallbackAt))
+                    .toList()));
+        }
+        return deliveries;
+    }
+
+    /**
+     * 적재된 대체 발송 항목의 ID를 담아 스트림 이벤트를 만든다.
+     */
+    private Map<Long, List<NotificationStreamEvent>> toStreamEvents(List<StreamDelivery> deliveries, boolean digest) {
+        Map<Long, List<NotificationStreamEvent>> streamEvents = new HashMap<>();
+        for (StreamDelivery delivery : deliveries) {
+            List<Long> outboxIds = delivery.fallbacks().stream()
+                    .map(NotificationOutbox::getOutboxId)
+                    .toList();
+            streamEvents.computeIfAbsent(delivery.memberId(), key -> new ArrayList<>())
+                    .add(digest ? toDigestStreamEvent(delivery.notifications(), outboxIds)
+                            : toStreamEvent(delivery.notifications().get(0), outboxIds));
+        }
+        return streamEvents;
+    }
+
+    private NotificationStreamEvent toStreamEvent(Notification notification, List<Long> outboxIds) {
+        CalendarEvent event = notification.getEvent();
+        return NotificationStreamEvent.builder()
+                .notificationId(notification.getNotificationId())
+                .eventId(event.getId())
+                .title(event.getTitle())
+                .body(event.getTitle() + " 일정 당일입니다")
+                .type(event.getCalendarEventType().getDisplayName())
+                .tier(PushTier.from(event.getCalendarEventType()).name())
+                .notificationDate(notification.getNotificationDate())
+                .outboxIds(outboxIds)
+                .build();
+    }
+
+    private NotificationStreamEvent toDigestStreamEvent(List<Notification> notifications, List<Long> outboxIds) {
+        Set<String> titles = new LinkedHashSet<>();
+        PushTier tier = PushTier.INFORMATIONAL;
+        for (Notification notification : notifications) {
+            titles.add(notification.getEvent().getTitle());
+            tier = PushTier.higher(tier, PushTier.from(notification.getEvent().getCalendarEventType()));
+        }
+        Notification first = notifications.get(0);
+        return NotificationStreamEvent.builder()
+                .notificationId(first.getNotificationId())
+                .title(NotificationCoalescer.NOTIFICATION_TITLE)
+                .body(NotificationDigestCoalescer.summarize(new ArrayList<>(titles)))
+                .tier(tier.name())
+                .notificationDate(first.getNotificationDate())
+                .outboxIds(outboxIds)
+                .build();
+    }
+
+    /**
+     * 발송 시각까지 같은 토픽이 있고, 회원의 모든 토큰이 그 토픽 구독을 확인받은 알림만 토픽으로 보낸다.
+     * 확인되지 않은 토큰이 하나라도 있으면 멀티캐스트로 보내며, 같은 collapse key를 쓰므로 중복되어도 한 번만 표시된다.
+     */
+    private Map<NotificationTopic, List<Notification>> findCovered(List<Notification> notifications,
+                                                                   Map<Long, List<String>> tokensByMember) {
+        Set<Long> eventIds = new HashSet<>();
+        Set<LocalDate> dates = new HashSet<>();
+        for (Notification notification : notifications) {
+            eventIds.add(notification.getEvent().getId());
+            dates.add(notification.getNotificationDate());
+        }
+        Map<String, NotificationTopic> topics = notificationTopicRepository
+                .findByEventIdInAndNotificationDateIn(eventIds, dates).stream()
+                .collect(Collectors.toMap(NotificationTopic::getTopic, Function.identity()));
+        if (topics.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<NotificationTopic, List<Notification>> candidates = new LinkedHashMap<>();
+        for (Notification notification : notifications) {
+            if (notification.getNotificationTime() == null) {
+                continue;
+            }
+            NotificationTopic topic = topics.get(NotificationTopic.topicName(notification.getEvent().getId(),
+                    notification.getNotificationDate(), notification.getNotificationTime()));
+            if (topic != null && topic.covers(notification)) {
+                candidates.computeIfAbsent(topic, key -> new ArrayList<>()).add(notification);
+            }
+        }
+
+        Map<NotificationTopic, List<Notification>> covered = new LinkedHashMap<>();
+        candidates.forEach((topic, topicNotifications) -> {
+            Set<String> tokens = new HashSet<>();
+            for (Notification notification : topicNotifications) {
+                tokens.addAll(tokensByMember.getOrDefault(notification.getMember().getMemberId(), List.of()));
+            }
+            Set<String> subscribed = notificationTopicService.findSubscribed(topic.getTopic(), tokens);
+            for (Notification notification : topicNotifications) {
+                List<String> memberTokens = tokensByMember.getOrDefault(notification.getMember().getMemberId(),
+                        List.of());
+                if (!memberTokens.isEmpty() && subscribed.containsAll(memberTokens)) {
+                    covered.computeIfAbsent(topic, key -> new ArrayList<>()).add(notification);
+                }
+            }
+        });
+        return covered;
+    }
+
+    /**
+     * 아웃박스 적재(스트림 대체 발송 항목 포함)와 알림 삭제를 한 트랜잭션에서 처리하고, 발송 대기 중인 토픽은 READY에서 SENT로 바꾼 경우에만 토픽 메시지를 적재한다.
+     */
+    private int enqueue(List<PushMessage> messages, List<StreamDelivery> streamDeliveries,
+                        Map<NotificationTopic, List<Notification>> covered, List<Long> ids,
+                        Collection<Lease> leases) {
+        LocalDateTime now = LocalDateTime.now();
+        List<NotificationOutbox> outboxes = messages.stream()
+                .map(message -> NotificationOutbox.from(message, now))
+                .toList();
+        Integer topicMessages = transactionTemplate.execute(status -> {
+            leaseCoordinator.fence(leases);
+            int sent = 0;
+            for (Map.Entry<NotificationTopic, List<Notification>> entry : covered.entrySet()) {
+                NotificationTopic topic = entry.getKey();
+                if (topic.getStatus() == TopicStatus.READY
+                        && notificationTopicRepository.markSent(topic.getNotificationTopicId(), now) == 1) {
+                    CalendarEvent event = entry.getValue().get(0).getEvent();
+                    notificationOutboxRepository.save(NotificationOutbox.from(toTopicMessage(topic, event), now));
+                    sent++;
+                }
+            }
+            notificationOutboxRepository.saveAll(outboxes);
+            for (StreamDelivery delivery : streamDeliveries) {
+                notificationOutboxRepository.saveAll(delivery.fallbacks());
+            }
+            notificationRepository.deleteAllByIdInBatch(ids);
+            return sent;
+        });
+        return topicMessages == null ? 0 : topicMessages;
+    }
+
+    private PushMessage toTopicMessage(NotificationTopic topic, CalendarEvent event) {
+        PushTier tier = PushTier.from(event.getCalendarEventType());
+        return PushMessage.builder()
+                .idempotencyKey("topic:" + topic.getTopic())
+                .topic(topic.getTopic())
+                .title(NotificationCoalescer.NOTIFICATION_TITLE)
+                .body(event.getTitle() + " 일정 당일입니다")
+                .registrationTokens(List.of())
+                .tier(tier)
+                .collapseKey(tier.collapseKey(event.getId()))
+                .build();
+    }
+
+    private void unsubscribeCovered(Map<NotificationTopic, List<Notification>> covered,
+                                    Map<Long, List<String>> tokensByMember) {
+        covered.forEach((topic, notifications) -> {
+            List<String> tokens = new ArrayList<>();
+            for (Notification notification : notifications) {
+                tokens.addAll(tokensByMember.getOrDefault(notification.getMember().getMemberId(), List.of()));
+            }
+            notificationTopicService.unsubscribeLater(topic.getTopic(), tokens);
+        });
+    }
+
+    private void report(int notificationCount, int messageCount, int digestMessageCount, int topicMessageCount,
+                        long elapsedNanos) {
+        meterRegistry.timer("notification.dispatch.duration").record(Duration.ofNanos(elapsedNanos));
+        meterRegistry.counter("notification.outbox.enqueued", "mode", "event").increment(messageCount);
+        meterRegistry.counter("notification.outbox.enqueued", "mode", "digest").increment(digestMessageCount);
+        meterRegistry.counter("notification.outbox.enqueued", "mode", "topic").increment(topicMessageCount);
+
+        long elapsedMillis = Math.max(1, elapsedNanos / 1_000_000);
+        log.info("알림 아웃박스 적재 완료: 알림 {}건, 메시지 {}건, 요약 메시지 {}건, 토픽 메시지 {}건, {}ms ({}건/초)",
+                notificationCount, messageCount, digestMessageCount, topicMessageCount, elapsedMillis,
+                notificationCount * 1000L / elapsedMillis);
+    }
+
+    private record StreamDelivery(Long memberId, List<Notification> notifications,
+                                  List<NotificationOutbox> fallbacks) {
+    }
+}
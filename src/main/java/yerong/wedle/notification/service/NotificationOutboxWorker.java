@@ -0,0 +1,290 @@
+package yerong.wedle.notification.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import yerong.wedle.common.lease.RedisLeaseCoordinator;
+import yerong.wedle.notification.domain.NotificationOutbox;
+import yerong.wedle.notification.domain.OutboxStatus;
+import yerong.wedle.notification.push.PushErrorCode;
+import yerong.wedle.notification.push.PushResult;
+import yerong.wedle.notification.push.PushSender;
+import yerong.wedle.notification.repository.NotificationOutboxRepository;
+
+/**
+ * 아웃박스에서 발송할 메시지를 SKIP LOCKED로 나누어 가져와 발송한다.
+ * 워커 스레드와 서버 수를 늘리면 처리량이 늘어나고, 발송 중 서버가 종료되면 점유 기간이 지난 뒤 다른 워커가 다시 가져간다.
+ * 일시적인 오류가 난 토큰만 지수 백오프로 재시도하고, 영구적인 오류나 최대 시도 횟수 초과는 DEAD로 남긴다.
+ * 발송 등급의 우선순위가 높은 메시지부터 가져가며, 유효 기간이 지난 메시지는 발송하지 않고 EXPIRED로 남긴다.
+ */
+@Slf4j
+@Component
+public class NotificationOutboxWorker {
+
+    private final NotificationOutboxRepository notificationOutboxRepository;
+    private final PushSender pushSender;
+    private final DeviceTokenService deviceTokenService;
+    private final RedisLeaseCoordinator leaseCoordinator;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final int workers;
+    private final int batchSize;
+    private final long leaseSeconds;
+    private final int maxAttempts;
+    private final long baseBackoffMillis;
+    private final long maxBackoffMillis;
+    private final long pollIntervalMillis;
+    private final long sentRetentionDays;
+
+    private ExecutorService executor;
+    private volatile boolean running;
+
+    public NotificationOutboxWorker(NotificationOutboxRepository notificationOutboxRepository,
+                                    PushSender pushSender,
+                                    DeviceTokenService deviceTokenService,
+                                    RedisLeaseCoordinator leaseCoordinator,
+                                    TransactionTemplate transactionTemplate,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${notification.outbox.workers:2}") int workers,
+                                    @Value("${notification.outbox.batch-size:16}") int batchSize,
+                                    @Value("${notification.outbox.lease-seconds:60}") long leaseSeconds,
+                                    @Value("${notification.outbox.max-attempts:5}") int maxAttempts,
+                                    @Value("${notification.outbox.base-backoff-ms:1000}") long baseBackoffMillis,
+                                    @Value("${notification.outbox.max-backoff-ms:300000}") long maxBackoffMillis,
+                                    @Value("${notification.outbox.poll-interval-ms:1000}") long pollIntervalMillis,
+                                    @Value("${notification.outbox.sent-retention-days:7}") long sentRetentionDays) {
+        this.notificationOutboxRepository = notificationOutboxRepository;
+        this.pushSender = pushSender;
+        this.deviceTokenService = deviceTokenService;
+        this.leaseCoordinator = leaseCoordinator;
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.leaseSeconds = leaseSeconds;
+        this.maxAttempts = maxAttempts;
+        this.baseBackoffMillis = baseBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.sentRetentionDays = sentRetentionDays;
+    }
+
+    @PostConstruct
+    public void start() {
+        // 워커 수를 0으로 두면 이 인스턴스는 아웃박스를 처리하지 않는다.
+        if (workers <= 0) {
+            return;
+        }
+        AtomicInteger sequence = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "notification-outbox-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        running = true;
+        for (int i = 0; i < workers; i++) {
+            executor.submit(this::poll);
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (executor == null) {
+            return;
+        }
+        executor.shutdown();
+        if (!executor.awaitTermination(leaseSeconds, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+
+    private void poll() {
+        while (running) {
+            try {
+                if (processBatch() == 0) {
+                    Thread.sleep(pollIntervalMillis);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("알림 아웃박스 처리 중 오류가 발생했습니다.", e);
+                try {
+                    Thread.sleep(pollIntervalMillis);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    public int processBatch() {
+        List<NotificationOutbox> claimed = claim();
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<CompletableFuture<PushResult>> futures = new ArrayList<>(claimed.size());
+        for (NotificationOutbox outbox : claimed) {
+            CompletableFuture<PushResult> future;
+            if (outbox.isExpired(now)) {
+                futures.add(null);
+                continue;
+            }
+            try {
+                future = outbox.getTopic() != null
+                        ? pushSender.sendToTopic(outbox.toPushMessage())
+                        : pushSender.sendMulticast(outbox.toPushMessage());
+            } catch (RuntimeException e) {
+                future = CompletableFuture.failedFuture(e);
+            }
+            futures.add(future);
+        }
+
+        for (int i = 0; i < claimed.size(); i++) {
+            NotificationOutbox outbox = claimed.get(i);
+            if (futures.get(i) == null) {
+                expire(outbox);
+                continue;
+            }
+            PushResult result = null;
+            Throwable error = null;
+            try {
+                result = futures.get(i).join();
+            } catch (RuntimeException e) {
+                error = e.getCause() != null ? e.getCause() : e;
+            }
+            complete(outbox, result, error);
+        }
+        return claimed.size();
+    }
+
+    private List<NotificationOutbox> claim() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<NotificationOutbox> outboxes = notificationOutboxRepository.findClaimable(now, batchSize);
+            outboxes.forEach(outbox -> outbox.markSending(now.plusSeconds(leaseSeconds)));
+            return outboxes;
+        });
+    }
+
+    private void complete(NotificationOutbox outbox, PushResult result, Throwable error) {
+        List<String> retryTokens = new ArrayList<>();
+        List<String> invalidTokens = new ArrayList<>();
+        int permanentFailures = 0;
+        String lastError;
+
+        if (error != null) {
+            retryTokens.addAll(outbox.getTokenList());
+            lastError = error.getClass().getSimpleName() + ": " + error.getMessage();
+        } else {
+            meterRegistry.counter(outbox.getTopic() != null ? "notification.push.topics" : "notification.push.tokens",
+                    "result", "success").increment(result.getSuccessCount());
+            for (Map.Entry<String, PushErrorCode> failed : result.getFailedTokens().entrySet()) {
+                if (failed.getValue().isTransient()) {
+                    retryTokens.add(failed.getKey());
+                } else {
+                    permanentFailures++;
+                    if (failed.getValue().isInvalidToken()) {
+                        invalidTokens.add(failed.getKey());
+                    }
+                }
+            }
+            meterRegistry.counter("notification.push.tokens", "result", "permanent_failure")
+                    .increment(permanentFailures);
+            pruneTokens(invalidTokens);
+            lastError = result.getFailureCount() == 0 ? null : "실패 토큰 " + result.getFailureCount() + "건";
+        }
+
+        // 토픽 발송은 재시도할 토큰이 없으므로 요청 자체가 실패했을 때만 재시도한다.
+        boolean retry = !retryTokens.isEmpty() || (error != null && outbox.getTopic() != null);
+        if (!retry) {
+            if (result != null && result.getSuccessCount() == 0 && permanentFailures > 0) {
+                outbox.markDead(lastError);
+            } else {
+                outbox.markSent(lastError);
+            }
+        } else if (outbox.getAttempts() >= maxAttempts) {
+            meterRegistry.counter("notification.push.tokens", "result", "exhausted").increment(retryTokens.size());
+            outbox.markDead(lastError);
+        } else {
+            LocalDateTime nextAttemptAt = LocalDateTime.now().plus(Duration.ofMillis(backoffMillis(outbox.getAttempts())));
+            outbox.scheduleRetry(retryTokens, nextAttemptAt, lastError);
+        }
+        meterRegistry.counter("notification.outbox.messages", "status", outbox.getStatus().name(),
+                "tier", String.valueOf(outbox.getTier())).increment();
+        save(outbox);
+        if (outbox.getStatus() == OutboxStatus.DEAD) {
+            log.error("알림 발송을 중단합니다. idempotencyKey: {}, 시도: {}회, 오류: {}",
+                    outbox.getIdempotencyKey(), outbox.getAttempts(), lastError);
+        }
+    }
+
+    private void expire(NotificationOutbox outbox) {
+        outbox.markExpired();
+        meterRegistry.counter("notification.outbox.messages", "status", outbox.getStatus().name(),
+                "tier", String.valueOf(outbox.getTier())).increment();
+        save(outbox);
+        log.info("유효 기간이 지나 알림을 발송하지 않습니다. idempotencyKey: {}, 만료: {}",
+                outbox.getIdempotencyKey(), outbox.getExpiresAt());
+    }
+
+    private void save(NotificationOutbox outbox) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> notificationOutboxRepository.save(outbox));
+        } catch (ObjectOptimisticLockingFailureException e) {
+            log.warn("점유 기간이 지나 다른 워커가 가져간 아웃박스입니다. idempotencyKey: {}", outbox.getIdempotencyKey());
+        }
+    }
+
+    private void pruneTokens(List<String> invalidTokens) {
+        if (invalidTokens.isEmpty()) {
+            return;
+        }
+        try {
+            deviceTokenService.pruneTokens(invalidTokens);
+            meterRegistry.counter("notification.device_tokens.pruned").increment(invalidTokens.size());
+        } catch (Exception e) {
+            log.warn("유효하지 않은 기기 토큰 삭제에 실패했습니다. {}", e.getMessage());
+        }
+    }
+
+    private long backoffMillis(int attempts) {
+        long delay = baseBackoffMillis << Math.min(attempts - 1, 20);
+        delay = Math.min(delay, maxBackoffMillis);
+        return ThreadLocalRandom.current().nextLong(delay / 2, delay + 1);
+    }
+
+    @Scheduled(cron = "0 30 4 * * *", zone = "Asia/Seoul")
+    public void cleanUpSent() {
+        leaseCoordinator.runExclusively("notification:outbox-cleanup", Duration.ofMinutes(10), lease -> {
+            LocalDateTime before = LocalDateTime.now().minusDays(sentRetentionDays);
+            Integer deleted = transactionTemplate.execute(status -> {
+                leaseCoordinator.checkValid(lease);
+                return notificationOutboxRepository.deleteByStatusAndUpdatedAtBefore(OutboxStatus.SENT, before)
+                        + notificationOutboxRepository.deleteByStatusAndUpdatedAtBefore(OutboxStatus.EXPIRED, before);
+            });
+            log.info("발송 완료되거나 만료된 알림 아웃박스 {}건을 삭제했습니다.", deleted);
+        });
+    }
+}
@@ -0,0 +1,360 @@
+package yerong.wedle.notification.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import yerong.wedle.common.lease.Lease;
+import yerong.wedle.common.lease.RedisLeaseCoordinator;
+import yerong.wedle.common.utils.HierarchicalTimingWheel;
+import yerong.wedle.notification.repository.NotificationRepository;
+
+/**
+ * 다가오는 알림을 매시간 horizon 범위만큼 타이밍 휠에 적재하고, 매분 만료된 알림만 발송한다.
+ * 매분 DB를 조회하지 않으며, 발송 시각을 지정하지 않은 알림은 기본 시각부터 회원별로 분산된다.
+ * 요약 알림을 켠 회원의 알림은 개별 시각과 관계없이 회원의 기본 시각에 함께 발송된다.
+ * 알림은 회원 ID 기준으로 shard에 나뉘고, 각 인스턴스는 Redis 점유로 살아 있는 인스턴스 수만큼 나눈 shard만 담당한다.
+ */
+@Slf4j
+@Component
+public class NotificationScheduler implements MessageListener {
+
+    public static final String NOTIFICATION_SCHEDULED_CHANNEL = "notification:scheduled";
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+    private static final String SCHEDULER_GROUP = "notification-scheduler";
+
+    private final NotificationRepository notificationRepository;
+    private final NotificationDispatcher notificationDispatcher;
+    private final RedisLeaseCoordinator leaseCoordinator;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final LocalTime defaultTime;
+    private final int defaultSpreadMinutes;
+    private final long horizonMinutes;
+    private final int loadPageSize;
+    private final int shardCount;
+    private final Duration shardLeaseTtl;
+    private final Map<Integer, Shard> shards = new ConcurrentHashMap<>();
+    // shard 점유와 DB 적재는 오래 걸릴 수 있어 tick 스레드가 아닌 전용 스레드에서 순서대로 실행한다.
+    private final ExecutorService shardExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "notification-shard");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean rebalancing = new AtomicBoolean();
+
+    public NotificationScheduler(NotificationRepository notificationRepository,
+                                 NotificationDispatcher notificationDispatcher,
+                                 RedisLeaseCoordinator leaseCoordinator,
+                                 RedisTemplate<String, Object> redisTemplate,
+                                 RedisMessageListenerContainer listenerContainer,
+                                 @Value("${notification.schedule.default-time:10:00}") String defaultTime,
+                                 @Value("${notification.schedule.default-spread-minutes:120}") int defaultSpreadMinutes,
+                                 @Value("${notification.schedule.horizon-minutes:120}") long horizonMinutes,
+                                 @Value("${notification.schedule.load-page-size:1000}") int loadPageSize,
+                                 @Value("${notification.schedule.shards:16}") int shardCount,
+                                 @Value("${notification.schedule.shard-lease-seconds:30}") long shardLeaseSeconds) {
+        this.notificationRepository = notificationRepository;
+        this.notificationDispatcher = notificationDispatcher;
+        this.leaseCoordinator = leaseCoordinator;
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.defaultTime = LocalTime.parse(defaultTime);
+        this.defaultSpreadMinutes = Math.max(1, defaultSpreadMinutes);
+        this.horizonMinutes = horizonMinutes;
+        this.loadPageSize = loadPageSize;
+        this.shardCount = shardCount;
+        this.shardLeaseTtl = Duration.ofSeconds(shardLeaseSeconds);
+    }
+
+    @PostConstruct
+    private void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(NOTIFICATION_SCHEDULED_CHANNEL));
+    }
+
+    @PreDestroy
+    public void releaseAll() {
+        shardExecutor.shutdownNow();
+        shards.values().forEach(shard -> leaseCoordinator.release(shard.lease));
+        shards.clear();
+    }
+
+    /**
+     * 회원이 발송 시각을 지정하지 않으면 기본 시각부터 회원 ID에 따라 분산된 시각을 사용한다.
+     */
+    public LocalTime resolveTime(LocalTime notificationTime, Long memberId) {
+        if (notificationTime != null) {
+            return notificationTime.truncatedTo(ChronoUnit.MINUTES);
+        }
+        return defaultTime.plusMinutes(memberId % defaultSpreadMinutes);
+    }
+
+    private LocalTime resolveDueTime(LocalTime notificationTime, Long memberId, boolean digest) {
+        return resolveTime(digest ? null : notificationTime, memberId);
+    }
+
+    /**
+     * 이미 적재가 끝난 구간에 새로 생성된 알림은 해당 shard를 담당하는 인스턴스가 바로 휠에 등록하도록 전파한다.
+     * 트랜잭션 안에서 호출되면 커밋된 뒤에 전파해, 롤백된 알림이 발송 대상에 오르지 않도록 한다.
+     */
+    public void scheduleIfLoaded(Long notificationId, Long eventId, Long memberId, boolean digest,
+                                 LocalDate notificationDate, LocalTime notificationTime) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publishScheduled(notificationId, eventId, memberId, digest, notificationDate, notificationTime);
+                }
+            });
+            return;
+        }
+        publishScheduled(notificationId, eventId, memberId, digest, notificationDate, notificationTime);
+    }
+
+    private void publishScheduled(Long notificationId, Long eventId, Long memberId, boolean digest,
+                                  LocalDate notificationDate, LocalTime notificationTime) {
+        DueNotification dueNotification = new DueNotification(notificationId, eventId, memberId, digest);
+        long dueMinute = toEpochMinute(notificationDate.atTime(resolveDueTime(notificationTime, memberId, digest)));
+        try {
+            redisTemplate.convertAndSend(NOTIFICATION_SCHEDULED_CHANNEL,
+                    notificationId + ":" + eventId + ":" + memberId + ":" + digest + ":" + dueMinute);
+        } catch (Exception e) {
+            log.warn("알림 예약 전파에 실패했습니다. notificationId: {}, {}", notificationId, e.getMessage());
+            schedule(dueNotification, dueMinute);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split(":");
+        schedule(new DueNotification(Long.parseLong(parts[0]), Long.parseLong(parts[1]), Long.parseLong(parts[2]),
+                Boolean.parseBoolean(parts[3])), Long.parseLong(parts[4]));
+    }
+
+    private void schedule(DueNotification dueNotification, long dueMinute) {
+        Shard shard = shards.get(shardOf(dueNotification.getMemberId()));
+        if (shard == null) {
+            return;
+        }
+        synchronized (shard) {
+            if (dueMinute < toEpochMinute(shard.loadedUntil)) {
+                shard.wheel.schedule(dueNotification, dueMinute);
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        rebalanceLater();
+    }
+
+    @Scheduled(cron = "0 0 * * * *", zone = "Asia/Seoul")
+    public void loadHorizon() {
+        runOnShardThread(this::loadAll);
+    }
+
+    private void loadAll() {
+        LocalDateTime until = LocalDateTime.now(ZONE).truncatedTo(ChronoUnit.MINUTES).plusMinutes(horizonMinutes);
+        int loaded = 0;
+        for (Shard shard : shards.values()) {
+            loaded += load(shard, until);
+        }
+        log.info("알림 {}건을 타이밍 휠에 적재했습니다. (~{}, shard {}개)", loaded, until, shards.size());
+    }
+
+    @Scheduled(cron = "0 * * * * *", zone = "Asia/Seoul")
+    public void tick() {
+        rebalanceLater();
+        long now = toEpochMinute(LocalDateTime.now(ZONE));
+        Map<Shard, List<DueNotification>> dueByShard = new LinkedHashMap<>();
+        for (Shard shard : shards.values()) {
+            if (!leaseCoordinator.isValid(shard.lease)) {
+                log.warn("알림 shard {}의 점유를 잃어 담당에서 제외합니다.", shard.id);
+                shards.remove(shard.id);
+                continue;
+            }
+            List<DueNotification> expired = shard.wheel.advanceTo(now);
+            if (!expired.isEmpty()) {
+                dueByShard.put(shard, expired);
+            }
+        }
+        if (dueByShard.isEmpty()) {
+            return;
+        }
+        List<DueNotification> due = new ArrayList<>();
+        dueByShard.values().forEach(due::addAll);
+        try {
+            notificationDispatcher.dispatch(due, dueByShard.keySet().stream()
+                    .map(shard -> shard.lease)
+                    .toList());
+        } catch (RuntimeException e) {
+            // 휠에서 이미 꺼낸 알림이므로 다시 등록해 다음 분에 재시도한다. 이미 적재된 알림은 DB에서 삭제되어 다시 발송되지 않는다.
+            // 점유를 잃어 롤백된 경우에는 다음 tick에서 그 shard를 제외하므로 새 담당 서버만 발송한다.
+            log.error("알림 {}건 발송에 실패해 다음 분에 다시 시도합니다.", due.size(), e);
+            dueByShard.forEach((shard, expired) -> expired.forEach(dueNotification ->
+                    shard.wheel.schedule(dueNotification, now)));
+        }
+    }
+
+    /**
+     * 이전 재분배가 아직 끝나지 않았으면 새로 요청하지 않는다.
+     */
+    private void rebalanceLater() {
+        if (!rebalancing.compareAndSet(false, true)) {
+            return;
+        }
+        if (!runOnShardThread(() -> {
+            try {
+                rebalance();
+            } finally {
+                rebalancing.set(false);
+            }
+        })) {
+            rebalancing.set(false);
+        }
+    }
+
+    private boolean runOnShardThread(Runnable task) {
+        try {
+            shardExecutor.execute(() -> {
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    log.error("알림 shard 작업에 실패했습니다.", e);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    private void rebalance() {
+        int members = leaseCoordinator.heartbeatMember(SCHEDULER_GROUP, shardLeaseTtl.multipliedBy(3));
+        int target = (shardCount + members - 1) / members;
+
+        List<Integer> owned = new ArrayList<>(shards.keySet());
+        for (int i = target; i < owned.size(); i++) {
+            Shard shard = shards.remove(owned.get(i));
+            leaseCoordinator.release(shard.lease);
+            log.info("알림 shard {}의 담당을 해제했습니다.", shard.id);
+        }
+
+        int offset = ThreadLocalRandom.current().nextInt(shardCount);
+        for (int i = 0; i < shardCount && shards.size() < target; i++) {
+            int id = (offset + i) % shardCount;
+            if (shards.containsKey(id)) {
+                continue;
+            }
+            leaseCoordinator.tryAcquire(shardLeaseName(id), shardLeaseTtl).ifPresent(lease -> {
+                Shard shard = new Shard(id, lease);
+                shards.put(id, shard);
+                int loaded = load(shard, LocalDateTime.now(ZONE).truncatedTo(ChronoUnit.MINUTES)
+                        .plusMinutes(horizonMinutes));
+                log.info("알림 shard {}를 담당합니다. fencingToken: {}, 적재 {}건", id, lease.getFencingToken(), loaded);
+            });
+        }
+    }
+
+    private int load(Shard shard, LocalDateTime until) {
+        synchronized (shard) {
+            if (!until.isAfter(shard.loadedUntil)) {
+                return 0;
+            }
+            int loaded = 0;
+            LocalDateTime from = shard.loadedUntil;
+            for (LocalDate date = from.toLocalDate(); !date.isAfter(until.toLocalDate()); date = date.plusDays(1)) {
+                LocalTime fromTime = date.equals(from.toLocalDate()) ? from.toLocalTime() : LocalTime.MIN;
+                LocalTime toTime = date.equals(until.toLocalDate()) ? until.toLocalTime() : LocalTime.MAX;
+                loaded += load(shard, date, fromTime, toTime);
+            }
+            shard.loadedUntil = until;
+            return loaded;
+        }
+    }
+
+    private int load(Shard shard, LocalDate date, LocalTime fromTime, LocalTime toTime) {
+        int loaded = 0;
+        long lastId = 0L;
+        while (true) {
+            List<Object[]> rows = notificationRepository.findScheduleKeys(date, fromTime, toTime, shardCount,
+                    shard.id, lastId, PageRequest.of(0, loadPageSize));
+            if (rows.isEmpty()) {
+                return loaded;
+            }
+            for (Object[] row : rows) {
+                Long notificationId = (Long) row[0];
+                Long memberId = (Long) row[2];
+                boolean digest = (Boolean) row[4];
+                LocalTime time = resolveDueTime((LocalTime) row[3], memberId, digest);
+                lastId = notificationId;
+                if (time.isBefore(fromTime) || !time.isBefore(toTime)) {
+                    continue;
+                }
+                if (shard.wheel.schedule(new DueNotification(notificationId, (Long) row[1], memberId, digest),
+                        toEpochMinute(date.atTime(time)))) {
+                    loaded++;
+                }
+            }
+        }
+    }
+
+    private int shardOf(Long memberId) {
+        return (int) (memberId % shardCount);
+    }
+
+    private static String shardLeaseName(int shard) {
+        return "notification:shard:" + shard;
+    }
+
+    private static long toEpochMinute(LocalDateTime dateTime) {
+        return dateTime.atZone(ZONE).toEpochSecond() / 60;
+    }
+
+    private static class Shard {
+
+        private final int id;
+        private final Lease lease;
+        private final HierarchicalTimingWheel<DueNotification> wheel;
+        // 새로 담당한 shard는 오늘 이미 지난 시각의 알림도 다시 적재해 발송한다.
+        private LocalDateTime loadedUntil;
+
+        private Shard(int id, Lease lease) {
+            LocalDateTime now = LocalDateTime.now(ZONE).truncatedTo(ChronoUnit.MINUTES);
+            this.id = id;
+            this.lease = lease;
+            this.wheel = new HierarchicalTimingWheel<>(toEpochMinute(now));
+            this.loadedUntil = now.toLocalDate().atStartOfDay();
+        }
+    }
+}
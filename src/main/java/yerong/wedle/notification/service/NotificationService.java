@@ -3,25 +3,36 @@ package yerong.wedle.notification.service;
 import jakarta.transaction.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import yerong.wedle.calendar.domain.CalendarEvent;
 import yerong.wedle.calendar.exception.CalendarEventNotFoundException;
 import yerong.wedle.calendar.repository.CalendarEventRepository;
-import yerong.wedle.common.utils.FcmUtils;
 import yerong.wedle.member.domain.Member;
 import yerong.wedle.member.exception.MemberNotFoundException;
 import yerong.wedle.member.repository.MemberRepository;
 import yerong.wedle.notification.domain.Notification;
+import yerong.wedle.notification.dto.BulkCreateNotificationRequest;
+import yerong.wedle.notification.dto.BulkCreateNotificationResponse;
 import yerong.wedle.notification.dto.CreateNotificationRequest;
+import yerong.wedle.notification.dto.NotificationPageResponse;
 import yerong.wedle.notification.dto.NotificationResponse;
+import yerong.wedle.notification.dto.NotificationSummary;
 import yerong.wedle.notification.exception.DuplicateNotificationException;
 import yerong.wedle.notification.exception.NotificationDateOutOfRangeException;
+import yerong.wedle.notification.exception.NotificationDatesRequiredException;
+import yerong.wedle.notification.repository.NotificationBulkRepository;
 import yerong.wedle.notification.repository.NotificationRepository;
 
 @Slf4j
@@ -29,9 +40,15 @@ import yerong.wedle.notification.repository.NotificationRepository;
 @RequiredArgsConstructor
 
 public class NotificationService {
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final NotificationRepository notificationRepository;
     private final CalendarEventRepository calendarEventRepository;
     private final MemberRepository memberRepository;
+    private final DeviceTokenService deviceTokenService;
+    private final NotificationScheduler notificationScheduler;
+    private final NotificationBulkRepository notificationBulkRepository;
+    private final NotificationTopicService notificationTopicService;
 
     @Transactional
     public NotificationResponse createNotification(CreateNotificationRequest request) {
@@ -48,16 +65,89 @@ public class NotificationService {
         if (notificationRepository.findByMemberAndEventAndNotificationDate(member, calendarEvent, request.getNotificationDate()).isPresent()) {
             throw new DuplicateNotificationException();
         }
+        LocalTime notificationTime = notificationScheduler.resolveTime(request.getNotificationTime(), member.getMemberId());
         Notification notification = Notification.builder()
                 .notificationDate(request.getNotificationDate())
+                .notificationTime(notificationTime)
                 .event(calendarEvent)
-                .registrationTokens(request.getRegistrationTokens())
                 .isActive(true)
                 .member(member)
                 .build();
         notification = notificationRepository.save(notification);
+        deviceTokenService.registerTokens(member, request.getRegistrationTokens());
+        notificationTopicService.subscribe(member, calendarEvent.getId(), List.of(notification.getNotificationDate()),
+                notificationTime);
+        notificationScheduler.scheduleIfLoaded(notification.getNotificationId(), calendarEvent.getId(),
+                member.getMemberId(), member.isDigestEnabled(), notification.getNotificationDate(), notificationTime);
+
+        return convertToResponse(notification, deviceTokenService.getTokens(member));
+    }
+
+    @Transactional
+    public BulkCreateNotificationResponse createNotifications(BulkCreateNotificationRequest request) {
+        String socialId = getCurrentUserId();
+        Member member = memberRepository.findBySocialId(socialId)
+                .orElseThrow(MemberNotFoundException::new);
+
+        CalendarEvent calendarEvent = getCalendarEventById(request.getEventId());
+        LocalDate startDate = calendarEvent.getStartDate();
+        LocalDate endDate = calendarEvent.getEndDate() != null ? calendarEvent.getEndDate() : startDate;
 
-        return convertToResponse(notification);
+        Set<LocalDate> dates = new TreeSet<>();
+        if (request.getNotificationDates() != null) {
+            for (LocalDate date : request.getNotificationDates()) {
+                if (!isDateWithinEventRange(date, calendarEvent)) {
+                    throw new NotificationDateOutOfRangeException();
+                }
+                dates.add(date);
+            }
+        }
+        if (request.getRule() != null) {
+            dates.addAll(request.getRule().dates(startDate, endDate));
+        }
+        if (dates.isEmpty()) {
+            throw new NotificationDatesRequiredException();
+        }
+
+        Set<LocalDate> existingDates = new HashSet<>(
+                notificationRepository.findNotificationDates(member, calendarEvent, dates));
+        List<LocalDate> createdDates = dates.stream()
+                .filter(date -> !existingDates.contains(date))
+                .toList();
+        LocalTime notificationTime = notificationScheduler.resolveTime(request.getNotificationTime(), member.getMemberId());
+
+        if (!createdDates.isEmpty()) {
+            notificationBulkRepository.insertAll(member.getMemberId(), calendarEvent.getId(), createdDates,
+                    notificationTime);
+            scheduleSoonDates(member, calendarEvent, createdDates, notificationTime);
+        }
+        deviceTokenService.registerTokens(member, request.getRegistrationTokens());
+        notificationTopicService.subscribe(member, calendarEvent.getId(), createdDates, notificationTime);
+
+        return BulkCreateNotificationResponse.builder()
+                .eventId(calendarEvent.getId())
+                .title(calendarEvent.getTitle())
+                .notificationTime(notificationTime)
+                .createdDates(createdDates)
+                .skippedDates(existingDates.stream().sorted().toList())
+                .build();
+    }
+
+    // 오늘과 내일 알림은 이미 타이밍 휠에 적재된 구간일 수 있으므로 바로 등록한다.
+    private void scheduleSoonDates(Member member, CalendarEvent calendarEvent, List<LocalDate> createdDates,
+                                   LocalTime notificationTime) {
+        LocalDate tomorrow = LocalDate.now(ZoneId.of("Asia/Seoul")).plusDays(1);
+        List<LocalDate> soonDates = createdDates.stream()
+                .filter(date -> !date.isAfter(tomorrow))
+                .toList();
+        if (soonDates.isEmpty()) {
+            return;
+        }
+        for (Object[] row : notificationRepository.findIdAndDateByMemberAndEventAndDateIn(member, calendarEvent,
+                soonDates)) {
+            notificationScheduler.scheduleIfLoaded((Long) row[0], calendarEvent.getId(), member.getMemberId(),
+                    member.isDigestEnabled(), (LocalDate) row[1], notificationTime);
+        }
     }
 
     private boolean isDateWithinEventRange(LocalDate notificationDate, CalendarEvent calendarEvent) {
@@ -70,40 +160,25 @@ public class NotificationService {
         return calendarEventRepository.findById(calendarId).orElseThrow(CalendarEventNotFoundException::new);
     }
 
-    @Transactional
-    @Scheduled(cron = "0 0 10 * * ?", zone = "Asia/Seoul")
-    public void sendNotifications() {
-        LocalDate today = LocalDate.now();
-        List<Notification> dueNotifications = notificationRepository.findByNotificationDate(today);
-
-        for (Notification notification : dueNotifications) {
-            if (notification.isActive()) {
-                List<String> registrationTokens = notification.getRegistrationTokens();
-                String title = "WEDLE";
-                String body = notification.getEvent().getTitle() + " 일정 당일입니다";
-
-                FcmUtils.broadCast(registrationTokens, title, body);
-
-                notification.setActive(false);
-                notificationRepository.delete(notification);
-            }
-        }
-    }
-
-    private NotificationResponse convertToResponse(Notification notification) {
+    private NotificationResponse convertToResponse(Notification notification, List<String> registrationTokens) {
         return NotificationResponse.builder()
                 .notificationId(notification.getNotificationId())
                 .title(notification.getEvent().getTitle())
                 .type(notification.getEvent().getCalendarEventType().getDisplayName())
                 .notificationDate(notification.getNotificationDate())
+                .notificationTime(notification.getNotificationTime())
                 .eventId(notification.getEvent().getId())
-                .registrationTokens(notification.getRegistrationTokens())
+                .registrationTokens(registrationTokens)
                 .isActive(notification.isActive())
                 .build();
     }
     @Transactional
     public void deleteNotification(Long notificationId) {
-        notificationRepository.deleteById(notificationId);
+        notificationRepository.findById(notificationId).ifPresent(notification -> {
+            notificationRepository.delete(notification);
+            notificationTopicService.unsubscribe(notification.getMember(), notification.getEvent().getId(),
+                    notification.getNotificationDate(), notification.getNotificationTime());
+        });
     }
 
     @Transactional
@@ -111,12 +186,50 @@ public class NotificationService {
         String socialId = getCurrentUserId();
         Member member = memberRepository.findBySocialId(socialId)
                 .orElseThrow(MemberNotFoundException::new);
-        List<Notification> notifications = notificationRepository.findByMemberAndIsActiveTrue(member);
-        return notifications.stream()
-                .map(this::convertToResponse)
+        List<NotificationSummary> summaries = notificationRepository.findActiveSummariesByMember(member, 0L,
+                Pageable.unpaged());
+        List<String> registrationTokens = deviceTokenService.getTokens(member);
+        return summaries.stream()
+                .map(summary -> convertToResponse(summary, registrationTokens))
                 .toList();
+    }
 
+    @Transactional
+    public NotificationPageResponse getNotificationsByMember(Long cursor, int size) {
+        String socialId = getCurrentUserId();
+        Member member = memberRepository.findBySocialId(socialId)
+                .orElseThrow(MemberNotFoundException::new);
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        List<NotificationSummary> summaries = notificationRepository.findActiveSummariesByMember(member,
+                cursor == null ? 0L : cursor, PageRequest.of(0, pageSize + 1));
+
+        boolean hasNext = summaries.size() > pageSize;
+        if (hasNext) {
+            summaries = summaries.subList(0, pageSize);
+        }
+        List<String> registrationTokens = summaries.isEmpty() ? List.of() : deviceTokenService.getTokens(member);
+        return NotificationPageResponse.builder()
+                .notifications(summaries.stream()
+                        .map(summary -> convertToResponse(summary, registrationTokens))
+                        .toList())
+                .nextCursor(hasNext ? summaries.get(summaries.size() - 1).getNotificationId() : null)
+                .hasNext(hasNext)
+                .build();
     }
+
+    private NotificationResponse convertToResponse(NotificationSummary summary, List<String> registrationTokens) {
+        return NotificationResponse.builder()
+                .notificationId(summary.getNotificationId())
+                .title(summary.getTitle())
+                .type(summary.getCalendarEventType().getDisplayName())
+                .notificationDate(summary.getNotificationDate())
+                .notificationTime(summary.getNotificationTime())
+                .eventId(summary.getEventId())
+                .registrationTokens(registrationTokens)
+                .isActive(summary.isActive())
+                .build();
+    }
+
     private String getCurrentUserId() {
         String socialId = SecurityContextHolder.getContext().getAuthentication().getName();
 
@@ -0,0 +1,285 @@
+package yerong.wedle.notification.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import yerong.wedle.common.lease.RedisLeaseCoordinator;
+import yerong.wedle.member.domain.Member;
+import yerong.wedle.member.exception.MemberNotFoundException;
+import yerong.wedle.member.repository.MemberRepository;
+import yerong.wedle.notification.domain.OutboxStatus;
+import yerong.wedle.notification.dto.NotificationStreamEvent;
+import yerong.wedle.notification.repository.NotificationOutboxRepository;
+
+/**
+ * 앱을 열어 둔 회원에게 알림을 SSE로 바로 전달한다.
+ * SseEmitter는 비동기 서블릿으로 동작하므로 연결을 유지하는 동안 요청 스레드를 점유하지 않는다.
+ * 회원이 어느 서버에 연결했는지는 Redis의 회원별 ZSET(서버 ID, 만료 시각)으로 관리하고,
+ * 알림은 Redis pub/sub 채널로 모든 서버에 전파해 연결을 가진 서버가 전달한다.
+ * pub/sub은 전달을 보장하지 않으므로 알림마다 FCM 아웃박스 항목을 미뤄 적재해 두고, 연결에 쓰기를 마친 서버가 그 항목을 취소한다.
+ * 전달 확인은 기기가 아니라 회원 단위다. 회원의 연결 중 하나에라도 쓰면 그 회원의 다른 기기로 가는 FCM도 보내지 않는데,
+ * 앱을 보고 있는 회원에게 같은 알림을 다른 기기로 한 번 더 울리지 않으려는 의도다.
+ */
+@Slf4j
+@Service
+public class NotificationStreamService implements MessageListener {
+
+    public static final String NOTIFICATION_STREAM_CHANNEL = "notification:stream";
+
+    private static final String PRESENCE_KEY_PREFIX = "notification:presence:";
+    private static final TypeReference<Map<Long, List<NotificationStreamEvent>>> PAYLOAD_TYPE =
+            new TypeReference<>() {
+            };
+
+    private final MemberRepository memberRepository;
+    private final NotificationOutboxRepository notificationOutboxRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ObjectMapper objectMapper;
+    private final String instanceId;
+    private final long timeoutMillis;
+    private final long presenceTtlMillis;
+    private final Map<Long, Set<SseEmitter>> emitters = new ConcurrentHashMap<>();
+
+    public NotificationStreamService(MemberRepository memberRepository,
+                                     NotificationOutboxRepository notificationOutboxRepository,
+                                     TransactionTemplate transactionTemplate,
+                                     RedisTemplate<String, Object> redisTemplate,
+                                     RedisMessageListenerContainer listenerContainer,
+                                     ObjectMapper objectMapper,
+                                     RedisLeaseCoordinator leaseCoordinator,
+                                     @Value("${notification.stream.timeout-ms:1800000}") long timeoutMillis,
+                                     @Value("${notification.stream.presence-ttl-ms:90000}") long presenceTtlMillis) {
+        this.memberRepository = memberRepository;
+        this.notificationOutboxRepository = notificationOutboxRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.objectMapper = objectMapper;
+        this.instanceId = leaseCoordinator.getInstanceId();
+        this.timeoutMillis = timeoutMillis;
+        this.presenceTtlMillis = presenceTtlMillis;
+    }
+
+    @PostConstruct
+    private void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(NOTIFICATION_STREAM_CHANNEL));
+    }
+
+    @PreDestroy
+    public void closeAll() {
+        emitters.forEach((memberId, memberEmitters) -> {
+            memberEmitters.forEach(SseEmitter::complete);
+            leave(memberId);
+        });
+        emitters.clear();
+    }
+
+    public SseEmitter connect() {
+        String socialId = SecurityContextHolder.getContext().getAuthentication().getName();
+        Member member = memberRepository.findBySocialId(socialId)
+                .orElseThrow(MemberNotFoundException::new);
+        Long memberId = member.getMemberId();
+
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        emitters.computeIfAbsent(memberId, key -> new CopyOnWriteArraySet<>()).add(emitter);
+        emitter.onCompletion(() -> remove(memberId, emitter));
+        emitter.onTimeout(() -> remove(memberId, emitter));
+        emitter.onError(error -> remove(memberId, emitter));
+
+        // 첫 이벤트를 바로 보내야 중간 프록시가 응답을 버퍼링하지 않는다.
+        if (send(memberId, emitter, SseEmitter.event().name("connected").data(memberId))) {
+            join(memberId);
+        }
+        return emitter;
+    }
+
+    /**
+     * 주어진 회원 중 어느 서버에든 스트림이 연결된 회원을 반환한다. Redis 조회에 실패하면 모두 FCM으로 발송되도록 빈 집합을 반환한다.
+     */
+    public Set<Long> findOnline(Collection<Long> memberIds) {
+        if (memberIds.isEmpty()) {
+            return Set.of();
+        }
+        List<Long> ids = new ArrayList<>(memberIds);
+        long now = System.currentTimeMillis();
+        List<Object> counts;
+        try {
+            counts = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (Long memberId : ids) {
+                    connection.zSetCommands().zCount(presenceKey(memberId), now, Double.POSITIVE_INFINITY);
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            log.warn("알림 스트림 접속 여부 조회에 실패했습니다. {}", e.getMessage());
+            return Set.of();
+        }
+        Set<Long> online = new HashSet<>();
+        for (int i = 0; i < ids.size(); i++) {
+            if (counts.get(i) instanceof Long count && count > 0) {
+                online.add(ids.get(i));
+            }
+        }
+        return online;
+    }
+
+    public void publish(Map<Long, List<NotificationStreamEvent>> eventsByMember) {
+        if (eventsByMember.isEmpty()) {
+            return;
+        }
+        try {
+            redisTemplate.convertAndSend(NOTIFICATION_STREAM_CHANNEL, objectMapper.writeValueAsString(eventsByMember));
+        } catch (JsonProcessingException e) {
+            log.error("알림 스트림 이벤트 직렬화에 실패했습니다.", e);
+        } catch (Exception e) {
+            log.warn("알림 스트림 전파에 실패했습니다. 회원 {}명, {}", eventsByMember.size(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Map<Long, List<NotificationStreamEvent>> eventsByMember;
+        try {
+            eventsByMember = objectMapper.readValue(new String(message.getBody(), StandardCharsets.UTF_8),
+                    PAYLOAD_TYPE);
+        } catch (JsonProcessingException e) {
+            log.warn("알림 스트림 메시지를 읽을 수 없습니다. {}", e.getMessage());
+            return;
+        }
+        List<Long> deliveredOutboxIds = new ArrayList<>();
+        eventsByMember.forEach((memberId, events) -> {
+            Set<SseEmitter> memberEmitters = emitters.get(memberId);
+            if (memberEmitters == null) {
+                return;
+            }
+            Set<NotificationStreamEvent> delivered = new HashSet<>();
+            for (SseEmitter emitter : memberEmitters) {
+                for (NotificationStreamEvent event : events) {
+                    if (!send(memberId, emitter, SseEmitter.event()
+                            .id(String.valueOf(event.getNotificationId()))
+                            .name("notification")
+                            .data(event))) {
+                        break;
+                    }
+                    delivered.add(event);
+                }
+            }
+            for (NotificationStreamEvent event : delivered) {
+                if (event.getOutboxIds() != null) {
+                    deliveredOutboxIds.addAll(event.getOutboxIds());
+                }
+            }
+        });
+        acknowledge(deliveredOutboxIds);
+    }
+
+    /**
+     * 스트림으로 전달한 알림의 FCM 발송을 취소한다. 실패하면 확인 대기 시간이 지난 뒤 FCM으로도 발송된다.
+     */
+    private void acknowledge(List<Long> outboxIds) {
+        if (outboxIds.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> notificationOutboxRepository.markStreamed(
+                    outboxIds, OutboxStatus.SENT, OutboxStatus.PENDING, LocalDateTime.now()));
+        } catch (Exception e) {
+            log.warn("알림 스트림 전달 확인에 실패했습니다. 아웃박스 {}건, {}", outboxIds.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * 끊긴 연결을 정리하고, 연결이 남아 있는 회원의 접속 정보를 갱신한다.
+     */
+    @Scheduled(fixedDelayString = "${notification.stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+        for (Map.Entry<Long, Set<SseEmitter>> entry : emitters.entrySet()) {
+            Long memberId = entry.getKey();
+            for (SseEmitter emitter : entry.getValue()) {
+                send(memberId, emitter, SseEmitter.event().comment("ping"));
+            }
+            if (emitters.containsKey(memberId)) {
+                join(memberId);
+            }
+        }
+    }
+
+    public int getConnectionCount() {
+        return emitters.values().stream().mapToInt(Set::size).sum();
+    }
+
+    private boolean send(Long memberId, SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            emitter.completeWithError(e);
+            remove(memberId, emitter);
+            return false;
+        }
+    }
+
+    private void remove(Long memberId, SseEmitter emitter) {
+        Set<SseEmitter> memberEmitters = emitters.get(memberId);
+        if (memberEmitters == null) {
+            return;
+        }
+        memberEmitters.remove(emitter);
+        if (memberEmitters.isEmpty() && emitters.remove(memberId, memberEmitters)) {
+            leave(memberId);
+        }
+    }
+
+    private void join(Long memberId) {
+        String key = PRESENCE_KEY_PREFIX + memberId;
+        long now = System.currentTimeMillis();
+        try {
+            redisTemplate.opsForZSet().add(key, instanceId, now + presenceTtlMillis);
+            redisTemplate.opsForZSet().removeRangeByScore(key, 0, now);
+            redisTemplate.expire(key, Duration.ofMillis(presenceTtlMillis));
+        } catch (Exception e) {
+            log.warn("알림 스트림 접속 정보 갱신에 실패했습니다. memberId: {}, {}", memberId, e.getMessage());
+        }
+    }
+
+    private void leave(Long memberId) {
+        try {
+            redisTemplate.opsForZSet().remove(PRESENCE_KEY_PREFIX + memberId, instanceId);
+        } catch (Exception e) {
+            log.warn("알림 스트림 접속 정보 삭제에 실패했습니다. memberId: {}, {}", memberId, e.getMessage());
+        }
+    }
+
+    private static byte[] presenceKey(Long memberId) {
+        return (PRESENCE_KEY_PREFIX + memberId).getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,378 @@
+package yerong.wedle.notification.service;
+
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import yerong.wedle.calendar.repository.CalendarEventRepository;
+import yerong.wedle.common.lease.Lease;
+import yerong.wedle.common.lease.RedisLeaseCoordinator;
+import yerong.wedle.common.utils.FcmUtils;
+import yerong.wedle.member.domain.Member;
+import yerong.wedle.notification.domain.NotificationTopic;
+import yerong.wedle.notification.domain.TopicStatus;
+import yerong.wedle.notification.push.PushErrorCode;
+import yerong.wedle.notification.push.PushResult;
+import yerong.wedle.notification.push.PushSender;
+import yerong.wedle.notification.repository.DeviceTokenRepository;
+import yerong.wedle.notification.repository.NotificationRepository;
+import yerong.wedle.notification.repository.NotificationSchemaRepository;
+import yerong.wedle.notification.repository.NotificationTopicRepository;
+
+/**
+ * 알림 수가 기준 이상인 (이벤트, 날짜, 발송 시각)을 FCM 토픽으로 전환한다.
+ * 매시간 내일부터 lookahead-days 동안의 알림을 집계해 토픽을 만들고, 알림을 등록한 회원의 토큰을 모두 구독시킨 뒤 READY로 바꾼다.
+ * 구독 중 일시적인 오류가 있으면 SUBSCRIBING으로 남겨 다음 실행에서 다시 구독하며, 그동안은 기존 멀티캐스트로 발송된다.
+ * 토픽 전환 이후 알림이나 기기 토큰을 등록하거나 알림을 삭제한 회원은 바로 구독하거나 구독을 해제하고,
+ * 요약 알림을 켠 회원은 구독을 해제한다.
+ * FCM이 구독을 확인한 토큰만 Redis에 기록하며, 발송 시에는 모든 토큰이 확인된 회원만 토픽으로 보낸다.
+ */
+@Slf4j
+@Service
+public class NotificationTopicService {
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+    private static final String SUBSCRIBERS_KEY_PREFIX = "notification:topic:subscribers:";
+    private static final String LEGACY_UNIQUE_INDEX = "uk_notification_topic_event_date";
+    private static final List<TopicStatus> SUBSCRIBABLE = List.of(TopicStatus.SUBSCRIBING, TopicStatus.READY);
+
+    private final NotificationTopicRepository notificationTopicRepository;
+    private final NotificationRepository notificationRepository;
+    private final NotificationSchemaRepository notificationSchemaRepository;
+    private final DeviceTokenRepository deviceTokenRepository;
+    private final CalendarEventRepository calendarEventRepository;
+    private final PushSender pushSender;
+    private final RedisLeaseCoordinator leaseCoordinator;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final long threshold;
+    private final int lookaheadDays;
+    private final long unsubscribeDelayMinutes;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "notification-topic");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public NotificationTopicService(NotificationTopicRepository notificationTopicRepository,
+                                    NotificationRepository notificationRepository,
+                                    NotificationSchemaRepository notificationSchemaRepository,
+                                    DeviceTokenRepository deviceTokenRepository,
+                                    CalendarEventRepository calendarEventRepository,
+                                    PushSender pushSender,
+                                    RedisLeaseCoordinator leaseCoordinator,
+                                    RedisTemplate<String, Object> redisTemplate,
+                                    TransactionTemplate transactionTemplate,
+                                    @Value("${notification.topic.enabled:true}") boolean enabled,
+                                    @Value("${notification.topic.threshold:1000}") long threshold,
+                                    @Value("${notification.topic.lookahead-days:7}") int lookaheadDays,
+                                    @Value("${notification.topic.unsubscribe-delay-minutes:30}") long unsubscribeDelayMinutes) {
+        this.notificationTopicRepository = notificationTopicRepository;
+        this.notificationRepository = notificationRepository;
+        this.notificationSchemaRepository = notificationSchemaRepository;
+        this.deviceTokenRepository = deviceTokenRepository;
+        this.calendarEventRepository = calendarEventRepository;
+        this.pushSender = pushSender;
+        this.leaseCoordinator = leaseCoordinator;
+        this.redisTemplate = redisTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.threshold = threshold;
+        this.lookaheadDays = lookaheadDays;
+        this.unsubscribeDelayMinutes = unsubscribeDelayMinutes;
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 토픽을 (이벤트, 날짜)로만 구분하던 unique 제약을 지운다. 남아 있으면 발송 시각이 다른 토픽을 만들 수 없다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void dropLegacyUniqueIndex() {
+        try {
+            if (notificationSchemaRepository.dropIndexIfExists(NotificationTopic.class, LEGACY_UNIQUE_INDEX)) {
+                log.info("이전 토픽 unique 제약 {}을 삭제했습니다.", LEGACY_UNIQUE_INDEX);
+            }
+        } catch (Exception e) {
+            log.error("이전 토픽 unique 제약을 삭제하지 못했습니다. {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(cron = "0 30 * * * *", zone = "Asia/Seoul")
+    public void promotePopularGroups() {
+        if (!enabled) {
+            return;
+        }
+        leaseCoordinator.runExclusively("notification:topic-promotion", Duration.ofMinutes(30), this::promote);
+    }
+
+    /**
+     * 당일 알림은 이미 타이밍 휠에 적재되었을 수 있으므로 내일 이후의 알림만 토픽으로 전환한다.
+     * 토픽을 저장하기 직전마다 점유를 확인해, 점유를 잃은 뒤에는 다른 인스턴스의 결과를 덮어쓰지 않는다.
+     */
+    public int promote(Lease lease) {
+        LocalDate today = LocalDate.now(ZONE);
+        int promoted = 0;
+        for (NotificationTopic topic : notificationTopicRepository.findByStatusAndNotificationDateAfter(
+                TopicStatus.SUBSCRIBING, today)) {
+            if (subscribeAll(topic, lease)) {
+                promoted++;
+            }
+        }
+
+        LocalDate from = today.plusDays(1);
+        LocalDate to = today.plusDays(Math.max(1, lookaheadDays));
+        for (Object[] row : notificationRepository.findPopularGroups(from, to, threshold)) {
+            Long eventId = (Long) row[0];
+            LocalDate notificationDate = (LocalDate) row[1];
+            LocalTime notificationTime = (LocalTime) row[2];
+            if (notificationTopicRepository.findByEventIdAndNotificationDateAndTime(eventId, notificationDate,
+                    notificationTime).isPresent()) {
+                continue;
+            }
+            NotificationTopic topic = transactionTemplate.execute(status -> {
+                leaseCoordinator.checkValid(lease);
+                return notificationTopicRepository.save(NotificationTopic.builder()
+                        .event(calendarEventRepository.getReferenceById(eventId))
+                        .notificationDate(notificationDate)
+                        .notificationTime(notificationTime)
+                        .build());
+            });
+            log.info("알림 {}건이 등록된 일정을 토픽으로 전환합니다. topic: {}", row[3], topic.getTopic());
+            if (subscribeAll(topic, lease)) {
+                promoted++;
+            }
+        }
+        return promoted;
+    }
+
+    private boolean subscribeAll(NotificationTopic topic, Lease lease) {
+        Long eventId = topic.getEvent().getId();
+        int subscribed = 0;
+        long lastId = 0L;
+        while (true) {
+            List<Object[]> rows = deviceTokenRepository.findTopicTokens(eventId, topic.getNotificationDate(),
+                    topic.getNotificationTime(), lastId, PageRequest.of(0, FcmUtils.FCM_TOPIC_LIMIT_SIZE));
+            if (rows.isEmpty()) {
+                break;
+            }
+            List<String> tokens = new ArrayList<>(rows.size());
+            for (Object[] row : rows) {
+                lastId = (Long) row[0];
+                tokens.add((String) row[1]);
+            }
+            PushResult result;
+            try {
+                result = pushSender.subscribeToTopic(tokens, topic.getTopic()).join();
+            } catch (RuntimeException e) {
+                log.warn("토픽 구독에 실패해 다음 실행에서 다시 시도합니다. topic: {}, {}", topic.getTopic(), e.getMessage());
+                return false;
+            }
+            recordSubscribed(topic.getTopic(), topic.getNotificationDate(), tokens, result);
+            if (!prune(result)) {
+                log.warn("토픽 구독 중 일시적인 오류가 있어 다음 실행에서 다시 시도합니다. topic: {}", topic.getTopic());
+                return false;
+            }
+            subscribed += result.getSuccessCount();
+        }
+
+        topic.markReady(subscribed);
+        transactionTemplate.executeWithoutResult(status -> {
+            leaseCoordinator.checkValid(lease);
+            notificationTopicRepository.save(topic);
+        });
+        log.info("토픽 구독을 마쳤습니다. topic: {}, 구독 {}건", topic.getTopic(), subscribed);
+        return true;
+    }
+
+    // 유효하지 않은 토큰은 삭제하고, 일시적인 오류가 있었으면 false를 반환한다.
+    // 그 밖의 영구 오류는 구독 확인을 받지 못한 토큰으로 남아 멀티캐스트로 발송된다.
+    private boolean prune(PushResult result) {
+        List<String> invalidTokens = new ArrayList<>();
+        boolean transientFailure = false;
+        for (Map.Entry<String, PushErrorCode> failed : result.getFailedTokens().entrySet()) {
+            if (failed.getValue().isInvalidToken()) {
+                invalidTokens.add(failed.getKey());
+            } else if (failed.getValue().isTransient()) {
+                transientFailure = true;
+            }
+        }
+        if (!invalidTokens.isEmpty()) {
+            Integer deleted = transactionTemplate.execute(status -> deviceTokenRepository.deleteByTokenIn(invalidTokens));
+            log.info("유효하지 않은 기기 토큰 {}건을 삭제했습니다.", deleted);
+        }
+        return !transientFailure;
+    }
+
+    public void subscribe(Member member, Long eventId, Collection<LocalDate> notificationDates,
+                          LocalTime notificationTime) {
+        changeSubscription(member, eventId, notificationDates, notificationTime, true);
+    }
+
+    public void unsubscribe(Member member, Long eventId, LocalDate notificationDate, LocalTime notificationTime) {
+        changeSubscription(member, eventId, List.of(notificationDate), notificationTime, false);
+    }
+
+    private void changeSubscription(Member member, Long eventId, Collection<LocalDate> notificationDates,
+                                    LocalTime notificationTime, boolean subscribe) {
+        if (!enabled || member.isDigestEnabled() || notificationDates.isEmpty() || notificationTime == null) {
+            return;
+        }
+        List<NotificationTopic> topics = notificationTopicRepository.findByEventIdInAndNotificationDateIn(
+                        List.of(eventId), notificationDates).stream()
+                .filter(NotificationTopic::acceptsSubscription)
+                .filter(topic -> topic.getNotificationTime().equals(notificationTime))
+                .toList();
+        if (topics.isEmpty()) {
+            return;
+        }
+        List<String> tokens = deviceTokenRepository.findTokensByMember(member);
+        for (NotificationTopic topic : topics) {
+            changeSubscription(tokens, topic.getTopic(), topic.getNotificationDate(), subscribe);
+        }
+    }
+
+    /**
+     * 토픽 전환 이후 새로 등록된 기기 토큰을 회원의 알림에 해당하는 토픽에 구독시킨다.
+     */
+    public void subscribeTokens(Member member, Collection<String> tokens) {
+        if (!enabled || member.isDigestEnabled() || tokens.isEmpty()) {
+            return;
+        }
+        List<String> newTokens = List.copyOf(tokens);
+        for (NotificationTopic topic : findMemberTopics(member)) {
+            changeSubscription(newTokens, topic.getTopic(), topic.getNotificationDate(), true);
+        }
+    }
+
+    /**
+     * 요약 알림을 켜면 회원의 토큰을 토픽에서 빼 요약 알림만 받게 하고, 끄면 다시 구독시킨다.
+     */
+    public void changeDigest(Member member, boolean digestEnabled) {
+        if (!enabled) {
+            return;
+        }
+        List<NotificationTopic> topics = findMemberTopics(member);
+        if (topics.isEmpty()) {
+            return;
+        }
+        List<String> tokens = deviceTokenRepository.findTokensByMember(member);
+        for (NotificationTopic topic : topics) {
+            changeSubscription(tokens, topic.getTopic(), topic.getNotificationDate(), !digestEnabled);
+        }
+    }
+
+    private List<NotificationTopic> findMemberTopics(Member member) {
+        return notificationTopicRepository.findByMemberId(member.getMemberId(), LocalDate.now(ZONE), SUBSCRIBABLE);
+    }
+
+    /**
+     * 토픽으로 알림을 받은 회원의 구독을 해제한다. 아웃박스 워커가 토픽을 실제로 발송할 때까지 기다린 뒤 해제하며,
+     * 발송 이후에는 다시 사용하지 않는 토픽이므로 서버가 종료되어 해제하지 못해도 중복 발송은 없다.
+     */
+    public void unsubscribeLater(String topic, List<String> tokens) {
+        if (tokens.isEmpty()) {
+            return;
+        }
+        executor.schedule(() -> changeSubscription(tokens, topic, null, false), unsubscribeDelayMinutes,
+                TimeUnit.MINUTES);
+    }
+
+    /**
+     * 주어진 토큰 중 FCM이 구독을 확인한 토큰을 반환한다. 확인할 수 없으면 빈 집합을 반환해 멀티캐스트로 보내게 한다.
+     */
+    public Set<String> findSubscribed(String topic, Collection<String> tokens) {
+        Set<String> subscribed = new HashSet<>();
+        if (tokens.isEmpty()) {
+            return subscribed;
+        }
+        try {
+            Map<Object, Boolean> members = redisTemplate.opsForSet()
+                    .isMember(SUBSCRIBERS_KEY_PREFIX + topic, tokens.toArray());
+            if (members != null) {
+                members.forEach((token, member) -> {
+                    if (Boolean.TRUE.equals(member)) {
+                        subscribed.add((String) token);
+                    }
+                });
+            }
+        } catch (Exception e) {
+            log.warn("토픽 구독 확인에 실패했습니다. topic: {}, {}", topic, e.getMessage());
+        }
+        return subscribed;
+    }
+
+    private void changeSubscription(List<String> tokens, String topic, LocalDate notificationDate,
+                                    boolean subscribe) {
+        if (tokens.isEmpty()) {
+            return;
+        }
+        if (!subscribe) {
+            // 해제 응답을 기다리는 동안 토픽으로 발송되지 않도록 먼저 확인 목록에서 뺀다.
+            removeSubscribed(topic, tokens);
+        }
+        (subscribe ? pushSender.subscribeToTopic(tokens, topic) : pushSender.unsubscribeFromTopic(tokens, topic))
+                .whenComplete((result, error) -> {
+                    if (error != null) {
+                        log.warn("토픽 {}에 실패했습니다. topic: {}, {}", subscribe ? "구독" : "구독 해제", topic,
+                                error.getMessage());
+                        return;
+                    }
+                    if (subscribe) {
+                        recordSubscribed(topic, notificationDate, tokens, result);
+                    }
+                    if (result.getFailureCount() > 0) {
+                        log.warn("토픽 {}에 실패한 토큰 {}건. topic: {}", subscribe ? "구독" : "구독 해제",
+                                result.getFailureCount(), topic);
+                    }
+                });
+    }
+
+    // 구독이 확인된 토큰만 발송일 다음 날까지 기록한다.
+    private void recordSubscribed(String topic, LocalDate notificationDate, List<String> tokens, PushResult result) {
+        Object[] confirmed = tokens.stream()
+                .filter(token -> !result.getFailedTokens().containsKey(token))
+                .toArray();
+        if (confirmed.length == 0) {
+            return;
+        }
+        String key = SUBSCRIBERS_KEY_PREFIX + topic;
+        try {
+            redisTemplate.opsForSet().add(key, confirmed);
+            redisTemplate.expireAt(key, notificationDate.plusDays(2).atStartOfDay(ZONE).toInstant());
+        } catch (Exception e) {
+            log.warn("토픽 구독 기록에 실패했습니다. 해당 토큰은 멀티캐스트로 발송됩니다. topic: {}, {}", topic, e.getMessage());
+        }
+    }
+
+    private void removeSubscribed(String topic, List<String> tokens) {
+        try {
+            redisTemplate.opsForSet().remove(SUBSCRIBERS_KEY_PREFIX + topic, tokens.toArray());
+        } catch (Exception e) {
+            log.warn("토픽 구독 기록 삭제에 실패했습니다. topic: {}, {}", topic, e.getMessage());
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package yerong.wedle.oauth.config;
 
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -37,6 +38,8 @@ public class SecurityConfig {
                 .sessionManagement(httpSecuritySessionManagementConfigurer -> httpSecuritySessionManagementConfigurer.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(authorizeRequests ->
                         authorizeRequests
+                                // SSE 응답은 비동기 디스패치로 이어지므로 최초 요청에서만 인증을 확인한다.
+                                .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
                                 .requestMatchers(
                                         AntPathRequestMatcher.antMatcher("/swagger"),
                                         AntPathRequestMatcher.antMatcher("/swagger-ui.html"),
@@ -16,12 +16,15 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 import yerong.wedle.common.exception.ErrorResponse;
+import yerong.wedle.common.ratelimit.RateLimit;
+import yerong.wedle.common.ratelimit.RateLimitKeyType;
 import yerong.wedle.member.dto.MemberRequest;
 import yerong.wedle.member.exception.MemberNotFoundException;
 import yerong.wedle.oauth.dto.LoginResponse;
 import yerong.wedle.oauth.dto.LoginStatusResponse;
 import yerong.wedle.oauth.dto.MemberLogoutResponse;
 import yerong.wedle.oauth.dto.TokenResponse;
+import yerong.wedle.oauth.exception.InvalidAppleIdentityTokenException;
 import yerong.wedle.oauth.exception.InvalidRefreshTokenException;
 import yerong.wedle.oauth.exception.InvalidTokenException;
 import yerong.wedle.oauth.service.AuthService;
@@ -45,8 +48,11 @@ public class LoginController {
     )
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "로그인 성공, 액세스 토큰 반환"),
+            @ApiResponse(responseCode = "401", description = "유효하지 않은 Apple identity token"),
+            @ApiResponse(responseCode = "429", description = "요청 횟수 제한 초과"),
             @ApiResponse(responseCode = "500", description = "로그인 중 서버 오류 발생")
     })
+    @RateLimit(name = "login-apple", capacity = 10, refillPerMinute = 10, key = RateLimitKeyType.IP)
     @PostMapping("/login/apple")
     public ResponseEntity<?> login(@RequestBody MemberRequest memberRequest) throws Exception {
         try {
@@ -56,6 +62,8 @@ public class LoginController {
                     .refreshToken(loginResponse.getRefreshToken()).build());
 
             return ResponseEntity.ok().headers(headers).body(loginResponse);
+        } catch (InvalidAppleIdentityTokenException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("유효하지 않은 Apple identity token입니다.");
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("로그인 중 오류가 발생했습니다.");
         }
@@ -70,8 +78,10 @@ public class LoginController {
             @ApiResponse(responseCode = "200", description = "토큰 갱신 성공"),
             @ApiResponse(responseCode = "400", description = "유효하지 않은 리프레시 토큰"),
             @ApiResponse(responseCode = "404", description = "회원 정보를 찾을 수 없음"),
+            @ApiResponse(responseCode = "429", description = "요청 횟수 제한 초과"),
             @ApiResponse(responseCode = "500", description = "토큰 갱신 중 서버 오류 발생")
     })
+    @RateLimit(name = "login-refresh", capacity = 20, refillPerMinute = 20, key = RateLimitKeyType.IP)
     @PostMapping("/login/refresh")
     public ResponseEntity<?> refreshAccessToken(@RequestHeader("RefreshToken") String refreshToken) {
         try {
@@ -0,0 +1,10 @@
+package yerong.wedle.oauth.exception;
+
+import yerong.wedle.common.exception.CustomException;
+import yerong.wedle.common.exception.ResponseCode;
+
+public class InvalidAppleIdentityTokenException extends CustomException {
+    public InvalidAppleIdentityTokenException() {
+        super(ResponseCode.INVALID_APPLE_IDENTITY_TOKEN);
+    }
+}
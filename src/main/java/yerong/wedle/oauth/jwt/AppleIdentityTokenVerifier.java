@@ -0,0 +1,77 @@
+package yerong.wedle.oauth.jwt;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import java.text.ParseException;
+import java.util.Date;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import yerong.wedle.oauth.exception.InvalidAppleIdentityTokenException;
+
+@Slf4j
+@Component
+public class AppleIdentityTokenVerifier {
+
+    private static final String APPLE_ISSUER = "https://appleid.apple.com";
+
+    private final AppleJwksCache appleJwksCache;
+    private final String clientId;
+    private final long clockSkewMillis;
+
+    public AppleIdentityTokenVerifier(AppleJwksCache appleJwksCache,
+                                      @Value("${apple.client-id}") String clientId,
+                                      @Value("${apple.clock-skew-seconds:60}") long clockSkewSeconds,
+                                      @Value("${apple.identity-token.enabled:true}") boolean enabled) {
+        // 다른 앱에 발급된 토큰을 받아들이지 않도록 aud 검증에 쓸 client id 없이는 시작하지 않는다.
+        if (enabled && !StringUtils.hasText(clientId)) {
+            throw new IllegalStateException("apple.identity-token.enabled가 true이면 apple.client-id를 지정해야 합니다.");
+        }
+        this.appleJwksCache = appleJwksCache;
+        this.clientId = clientId;
+        this.clockSkewMillis = clockSkewSeconds * 1000;
+    }
+
+    /**
+     * identity token의 서명과 클레임을 검증하고 Apple 사용자 식별자(sub)를 반환한다.
+     */
+    public String verify(String identityToken) {
+        if (!StringUtils.hasText(identityToken)) {
+            throw new InvalidAppleIdentityTokenException();
+        }
+        try {
+            SignedJWT signedJWT = SignedJWT.parse(identityToken);
+            if (!JWSAlgorithm.RS256.equals(signedJWT.getHeader().getAlgorithm())) {
+                throw new InvalidAppleIdentityTokenException();
+            }
+
+            JWSVerifier verifier = appleJwksCache.getVerifier(signedJWT.getHeader().getKeyID());
+            if (verifier == null || !signedJWT.verify(verifier)) {
+                throw new InvalidAppleIdentityTokenException();
+            }
+
+            JWTClaimsSet claims = signedJWT.getJWTClaimsSet();
+            validateClaims(claims);
+            return claims.getSubject();
+        } catch (ParseException | JOSEException e) {
+            log.warn("Apple identity token 검증 실패: {}", e.getMessage());
+            throw new InvalidAppleIdentityTokenException();
+        }
+    }
+
+    private void validateClaims(JWTClaimsSet claims) {
+        Date expirationTime = claims.getExpirationTime();
+        if (!APPLE_ISSUER.equals(claims.getIssuer())
+                || !StringUtils.hasText(claims.getSubject())
+                || expirationTime == null
+                || expirationTime.getTime() + clockSkewMillis < System.currentTimeMillis()
+                || claims.getAudience() == null
+                || !claims.getAudience().contains(clientId)) {
+            throw new InvalidAppleIdentityTokenException();
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package yerong.wedle.oauth.jwt;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+/**
+ * Apple 공개키(JWKS)를 메모리에 보관하고 백그라운드에서 갱신한다.
+ * 로그인 요청은 캐시된 kid별 검증기만 사용하며, 알 수 없는 kid일 때만 짧게 갱신을 기다린다.
+ * jwks-uri는 http(s) 외에 file:, classpath: 경로도 지원하므로 테스트에서 로컬 파일로 대체할 수 있다.
+ */
+@Slf4j
+@Component
+public class AppleJwksCache {
+
+    private final String jwksUri;
+    private final long refreshIntervalSeconds;
+    private final long minRefreshIntervalMillis;
+    private final long unknownKidWaitMillis;
+    private final Duration fetchTimeout;
+    private final ResourceLoader resourceLoader = new DefaultResourceLoader();
+    private final HttpClient httpClient;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "apple-jwks-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicReference<Map<String, JWSVerifier>> verifiers = new AtomicReference<>(Map.of());
+    private final AtomicReference<CompletableFuture<Void>> inFlightRefresh = new AtomicReference<>();
+    private volatile long lastRefreshStartedAt = 0;
+
+    public AppleJwksCache(@Value("${apple.jwks-uri:https://appleid.apple.com/auth/keys}") String jwksUri,
+                          @Value("${apple.jwks.refresh-interval-seconds:3600}") long refreshIntervalSeconds,
+                          @Value("${apple.jwks.min-refresh-interval-ms:10000}") long minRefreshIntervalMillis,
+                          @Value("${apple.jwks.unknown-kid-wait-ms:300}") long unknownKidWaitMillis,
+                          @Value("${apple.jwks.fetch-timeout-ms:2000}") long fetchTimeoutMillis) {
+        this.jwksUri = jwksUri;
+        this.refreshIntervalSeconds = refreshIntervalSeconds;
+        this.minRefreshIntervalMillis = minRefreshIntervalMillis;
+        this.unknownKidWaitMillis = unknownKidWaitMillis;
+        this.fetchTimeout = Duration.ofMillis(fetchTimeoutMillis);
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(fetchTimeout)
+                .build();
+    }
+
+    @PostConstruct
+    public void start() {
+        scheduler.scheduleWithFixedDelay(() -> refreshAsync(true), 0, refreshIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    public JWSVerifier getVerifier(String keyId) {
+        if (keyId == null) {
+            return null;
+        }
+        JWSVerifier verifier = verifiers.get().get(keyId);
+        if (verifier != null) {
+            return verifier;
+        }
+
+        try {
+            refreshAsync(false).get(unknownKidWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            log.warn("Apple 공개키 갱신을 기다리지 못했습니다. kid: {}", keyId);
+        }
+        return verifiers.get().get(keyId);
+    }
+
+    public CompletableFuture<Void> refreshAsync(boolean force) {
+        CompletableFuture<Void> current = inFlightRefresh.get();
+        if (current != null) {
+            return current;
+        }
+        if (!force && System.currentTimeMillis() - lastRefreshStartedAt < minRefreshIntervalMillis) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        CompletableFuture<Void> refresh = new CompletableFuture<>();
+        if (!inFlightRefresh.compareAndSet(null, refresh)) {
+            CompletableFuture<Void> other = inFlightRefresh.get();
+            return other != null ? other : CompletableFuture.completedFuture(null);
+        }
+        lastRefreshStartedAt = System.currentTimeMillis();
+        Runnable task = () -> {
+            try {
+                refresh();
+                refresh.complete(null);
+            } catch (Exception e) {
+                log.error("Apple 공개키 갱신에 실패했습니다. 기존 키를 계속 사용합니다. {}", e.getMessage());
+                refresh.completeExceptionally(e);
+            } finally {
+                inFlightRefresh.compareAndSet(refresh, null);
+            }
+        };
+        if (force) {
+            task.run();
+        } else {
+            scheduler.execute(task);
+        }
+        return refresh;
+    }
+
+    private void refresh() throws IOException, InterruptedException, ParseException, JOSEException {
+        JWKSet jwkSet = JWKSet.parse(fetchJwks());
+        Map<String, JWSVerifier> refreshed = new HashMap<>();
+        for (JWK jwk : jwkSet.getKeys()) {
+            if (jwk instanceof RSAKey rsaKey && jwk.getKeyID() != null) {
+                refreshed.put(jwk.getKeyID(), new RSASSAVerifier(rsaKey.toRSAPublicKey()));
+            }
+        }
+        if (refreshed.isEmpty()) {
+            throw new IOException("JWKS에 사용할 수 있는 RSA 키가 없습니다.");
+        }
+        verifiers.set(Map.copyOf(refreshed));
+        log.info("Apple 공개키 {}개를 갱신했습니다.", refreshed.size());
+    }
+
+    private String fetchJwks() throws IOException, InterruptedException {
+        if (jwksUri.startsWith("http://") || jwksUri.startsWith("https://")) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(jwksUri))
+                    .timeout(fetchTimeout)
+                    .GET()
+                    .build();
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IOException("JWKS 응답 코드: " + response.statusCode());
+            }
+            return response.body();
+        }
+        try (InputStream inputStream = resourceLoader.getResource(jwksUri).getInputStream()) {
+            return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -3,6 +3,7 @@ package yerong.wedle.oauth.service;
 import com.nimbusds.jwt.JWT;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseCookie;
@@ -18,8 +19,10 @@ import yerong.wedle.oauth.domain.RefreshToken;
 import yerong.wedle.oauth.dto.LoginResponse;
 import yerong.wedle.oauth.dto.MemberLogoutResponse;
 import yerong.wedle.oauth.dto.TokenResponse;
+import yerong.wedle.oauth.exception.InvalidAppleIdentityTokenException;
 import yerong.wedle.oauth.exception.InvalidAuthorizationHeaderException;
 import yerong.wedle.oauth.exception.InvalidRefreshTokenException;
+import yerong.wedle.oauth.jwt.AppleIdentityTokenVerifier;
 import yerong.wedle.oauth.jwt.JwtProvider;
 import yerong.wedle.oauth.repository.RefreshTokenRepository;
 
@@ -36,12 +39,22 @@ public class AuthService {
     private final JwtProvider jwtProvider;
     private final RedisTemplate redisTemplate;
     private final JwtBlacklistService jwtBlacklistService;
+    private final AppleIdentityTokenVerifier appleIdentityTokenVerifier;
 
     private static final String BEARER = "Bearer ";
 
+    @Value("${apple.identity-token.enabled:true}")
+    private boolean appleIdentityTokenEnabled;
+
 
     @Transactional
     public LoginResponse login(MemberRequest memberRequest){
+        if (appleIdentityTokenEnabled) {
+            String subject = appleIdentityTokenVerifier.verify(memberRequest.getIdentityToken());
+            if (!subject.equals(memberRequest.getSocialId())) {
+                throw new InvalidAppleIdentityTokenException();
+            }
+        }
 
         Member member = memberRepository.findBySocialId(memberRequest.getSocialId()).orElse(null);
 
@@ -6,6 +6,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import yerong.wedle.common.ratelimit.RateLimit;
 import yerong.wedle.university.dto.UniversityAllResponse;
 import yerong.wedle.university.dto.UniversityResponse;
 import yerong.wedle.university.service.UniversityService;
@@ -21,6 +22,7 @@ public class UniversityApiController {
     private final UniversityService universityService;
 
     @Operation(summary = "대학교 검색", description = "키워드를 이용해 대학교를 검색합니다. 키워드는 학교명 또는 소재지를 의미합니다.")
+    @RateLimit(name = "university-search", capacity = 30, refillPerMinute = 120)
     @GetMapping("/search")
     public ResponseEntity<List<UniversityResponse>> searchUniversities(
             @Parameter(description = "검색할 키워드 (학교명 또는 소재지)", required = true) @RequestParam String keyword) {
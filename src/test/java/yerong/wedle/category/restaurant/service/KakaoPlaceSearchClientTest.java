@@ -0,0 +1,166 @@
+package yerong.wedle.category.restaurant.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+import yerong.wedle.category.restaurant.dto.KakaoApiDocument;
+import yerong.wedle.category.restaurant.service.KakaoPlaceSearchClient.Point;
+import yerong.wedle.category.restaurant.service.KakaoPlaceSearchClient.SearchResult;
+
+/**
+ * 녹화해 둔 Kakao 응답(src/test/resources/kakao)을 돌려주는 로컬 서버로 검색 클라이언트를 검증한다.
+ */
+class KakaoPlaceSearchClientTest {
+
+    private static final long PAGE_DELAY_MILLIS = 200;
+    private static final Point CAMPUS = new Point(127.0, 37.5);
+
+    private HttpServer server;
+    private KakaoPlaceSearchClient client;
+    private final Set<Integer> failingPages = ConcurrentHashMap.newKeySet();
+    private volatile boolean failingCampus;
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/v2/local/search/keyword.json", this::handle);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+        client = new KakaoPlaceSearchClient(new RestTemplate(), "test-key",
+                "http://localhost:" + server.getAddress().getPort(), 4, 2000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.shutdown();
+        server.stop(0);
+    }
+
+    @Test
+    void mergesPagesFetchedConcurrentlyAndSortsByDistance() {
+        SearchResult result = client.search("테스트대학교 맛집", 3, CAMPUS);
+
+        assertThat(result.documents()).extracting(KakaoApiDocument::getId)
+                .containsExactly("301", "101", "201", "102", "103", "202", "302");
+        assertThat(result.complete()).isTrue();
+        assertThat(requests.get()).isEqualTo(3);
+        assertThat(maxInFlight.get()).isGreaterThan(1);
+    }
+
+    @Test
+    void returnsAvailablePagesWhenSomePagesFail() {
+        failingPages.add(3);
+
+        SearchResult result = client.search("테스트대학교 맛집", 3, CAMPUS);
+
+        assertThat(result.documents()).extracting(KakaoApiDocument::getId)
+                .containsExactly("101", "201", "102", "103", "202");
+        assertThat(result.complete()).isFalse();
+    }
+
+    @Test
+    void throwsWhenEveryPageTimesOut() {
+        client.shutdown();
+        client = new KakaoPlaceSearchClient(new RestTemplate(), "test-key",
+                "http://localhost:" + server.getAddress().getPort(), 4, PAGE_DELAY_MILLIS / 2);
+
+        assertThatThrownBy(() -> client.search("테스트대학교 맛집", 2, CAMPUS))
+                .isInstanceOf(RestClientException.class);
+    }
+
+    @Test
+    void throwsWhenEveryPageFails() {
+        failingPages.addAll(List.of(1, 2));
+
+        assertThatThrownBy(() -> client.search("테스트대학교 맛집", 2, CAMPUS))
+                .isInstanceOf(RestClientException.class);
+    }
+
+    @Test
+    void keepsKakaoOrderWithoutCampus() {
+        SearchResult result = client.search("테스트대학교 맛집", 1, null);
+
+        assertThat(result.documents()).extracting(KakaoApiDocument::getId).containsExactly("101", "102", "103");
+    }
+
+    @Test
+    void findsCampusOnceAndCachesIt() {
+        assertThat(client.findCampus("테스트대학교")).contains(CAMPUS);
+        assertThat(client.findCampus("테스트대학교")).contains(CAMPUS);
+        assertThat(requests.get()).isEqualTo(1);
+    }
+
+    @Test
+    void throwsWithoutCachingWhenCampusLookupFails() {
+        failingCampus = true;
+        assertThatThrownBy(() -> client.findCampus("테스트대학교")).isInstanceOf(RestClientException.class);
+
+        failingCampus = false;
+        assertThat(client.findCampus("테스트대학교")).contains(CAMPUS);
+        assertThat(requests.get()).isEqualTo(2);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try {
+            var params = UriComponentsBuilder.fromUri(exchange.getRequestURI()).build().getQueryParams();
+            String resource;
+            if (params.containsKey("category_group_code")) {
+                if (failingCampus) {
+                    exchange.sendResponseHeaders(500, -1);
+                    return;
+                }
+                resource = "/kakao/campus.json";
+            } else {
+                int page = Integer.parseInt(params.getFirst("page"));
+                sleep();
+                if (failingPages.contains(page)) {
+                    exchange.sendResponseHeaders(500, -1);
+                    return;
+                }
+                resource = "/kakao/keyword-page-" + page + ".json";
+            }
+            byte[] body;
+            try (InputStream inputStream = getClass().getResourceAsStream(resource)) {
+                body = inputStream.readAllBytes();
+            }
+            exchange.getResponseHeaders().set("Content-Type", "application/json;charset=UTF-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(body);
+            }
+        } finally {
+            inFlight.decrementAndGet();
+            exchange.close();
+        }
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(PAGE_DELAY_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
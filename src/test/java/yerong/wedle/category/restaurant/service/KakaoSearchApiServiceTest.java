@@ -0,0 +1,85 @@
+package yerong.wedle.category.restaurant.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import yerong.wedle.category.restaurant.dto.RestaurantResponse;
+import yerong.wedle.category.restaurant.exception.InvalidRestaurantAreaException;
+import yerong.wedle.university.repository.UniversityRepository;
+
+/**
+ * 미리 채운 격자 인덱스로 범위 조회의 입력 검증과 카테고리 필터를 검증한다. Kakao API는 호출하지 않는다.
+ */
+class KakaoSearchApiServiceTest {
+
+    private static final String UNIVERSITY = "테스트대학교";
+
+    private KakaoSearchApiService service;
+
+    @BeforeEach
+    void setUp() {
+        RestaurantGeoIndex geoIndex = new RestaurantGeoIndex(0.005);
+        geoIndex.index(UNIVERSITY, 1, List.of(
+                restaurant("1", " 한식 ", 127.0, 37.5),
+                restaurant("2", "일식", 127.001, 37.5),
+                restaurant("3", "한식", 127.002, 37.501)));
+        service = new KakaoSearchApiService(mock(KakaoPlaceSearchClient.class), mock(UniversityRepository.class),
+                geoIndex);
+    }
+
+    @Test
+    void matchesCategoryIgnoringCaseAndSurroundingSpaces() {
+        assertThat(service.findByCategory(UNIVERSITY, "  한식")).extracting(RestaurantResponse::getPlaceId)
+                .containsExactly("1", "3");
+        assertThat(service.findInBounds(UNIVERSITY, 126.9, 37.4, 127.1, 37.6, "일식 "))
+                .extracting(RestaurantResponse::getPlaceId)
+                .containsExactly("2");
+    }
+
+    @Test
+    void returnsEveryCategoryWhenCategoryIsBlank() {
+        assertThat(service.findByCategory(UNIVERSITY, " ")).hasSize(3);
+    }
+
+    @Test
+    void rejectsBoundsOutsideCoordinateRange() {
+        assertThatThrownBy(() -> service.findInBounds(UNIVERSITY, -1e300, 37.4, 1e300, 37.6, null))
+                .isInstanceOf(InvalidRestaurantAreaException.class);
+        assertThatThrownBy(() -> service.findInBounds(UNIVERSITY, 126.9, -91, 127.1, 37.6, null))
+                .isInstanceOf(InvalidRestaurantAreaException.class);
+        assertThatThrownBy(() -> service.findInBounds(UNIVERSITY, Double.NaN, 37.4, 127.1, 37.6, null))
+                .isInstanceOf(InvalidRestaurantAreaException.class);
+        assertThatThrownBy(() -> service.findInBounds(UNIVERSITY, 126.9, 37.4, Double.POSITIVE_INFINITY, 37.6, null))
+                .isInstanceOf(InvalidRestaurantAreaException.class);
+    }
+
+    @Test
+    void rejectsInvertedBounds() {
+        assertThatThrownBy(() -> service.findInBounds(UNIVERSITY, 127.1, 37.4, 126.9, 37.6, null))
+                .isInstanceOf(InvalidRestaurantAreaException.class);
+    }
+
+    @Test
+    void rejectsInvalidCenterOrRadius() {
+        assertThatThrownBy(() -> service.findNearby(UNIVERSITY, 181, 37.5, 500, null))
+                .isInstanceOf(InvalidRestaurantAreaException.class);
+        assertThatThrownBy(() -> service.findNearby(UNIVERSITY, 127.0, Double.NaN, 500, null))
+                .isInstanceOf(InvalidRestaurantAreaException.class);
+        assertThatThrownBy(() -> service.findNearby(UNIVERSITY, 127.0, 37.5, 0, null))
+                .isInstanceOf(InvalidRestaurantAreaException.class);
+    }
+
+    private static RestaurantResponse restaurant(String placeId, String categoryName, double x, double y) {
+        return RestaurantResponse.builder()
+                .placeId(placeId)
+                .name("식당 " + placeId)
+                .categoryName(categoryName)
+                .x(x)
+                .y(y)
+                .build();
+    }
+}
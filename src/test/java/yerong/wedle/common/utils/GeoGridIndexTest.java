@@ -0,0 +1,73 @@
+package yerong.wedle.common.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class GeoGridIndexTest {
+
+    private static final double CELL_DEGREES = 0.01;
+
+    @Test
+    void includesItemsOnCellAndRangeBoundaries() {
+        GeoGridIndex<Place> index = index(
+                new Place("before", 0.0099, 0.005),
+                new Place("cell-start", 0.01, 0.005),
+                new Place("range-end", 0.02, 0.01),
+                new Place("after", 0.0201, 0.005));
+
+        assertThat(index.findWithin(0.01, 0, 0.02, 0.01)).extracting(Place::id)
+                .containsExactlyInAnyOrder("cell-start", "range-end");
+    }
+
+    @Test
+    void findsItemsWithNegativeCoordinates() {
+        GeoGridIndex<Place> index = index(
+                new Place("south-west", -0.005, -0.005),
+                new Place("north-east", 0.005, 0.005),
+                new Place("west", -0.015, 0.005));
+
+        assertThat(index.findWithin(-0.01, -0.01, 0, 0)).extracting(Place::id)
+                .containsExactly("south-west");
+        assertThat(index.findWithin(-0.02, 0, -0.01, 0.01)).extracting(Place::id)
+                .containsExactly("west");
+    }
+
+    @Test
+    void returnsItemsWithinRadiusClosestFirst() {
+        GeoGridIndex<Place> index = index(
+                new Place("mid", 127.002, 37.5),
+                new Place("near", 127.001, 37.5),
+                new Place("far", 127.003, 37.5),
+                new Place("outside", 127.05, 37.5));
+
+        assertThat(index.findNear(127.0, 37.5, 500)).extracting(Place::id)
+                .containsExactly("near", "mid", "far");
+    }
+
+    @Test
+    void scansAllCellsWhenBoundsCoverMoreCellsThanIndexed() {
+        GeoGridIndex<Place> index = index(
+                new Place("seoul", 127.0, 37.5),
+                new Place("busan", 129.0, 35.1),
+                new Place("south", -70.0, -33.4));
+
+        assertThat(index.findWithin(-180, -90, 180, 90)).hasSize(3);
+        assertThat(index.findWithin(-1e300, -1e300, 1e300, 1e300)).hasSize(3);
+    }
+
+    @Test
+    void skipsItemsWithoutCoordinates() {
+        GeoGridIndex<Place> index = index(new Place("located", 127.0, 37.5), new Place("unknown", null, 37.5));
+
+        assertThat(index.getItems()).extracting(Place::id).containsExactly("located");
+    }
+
+    private static GeoGridIndex<Place> index(Place... places) {
+        return new GeoGridIndex<>(List.of(places), Place::x, Place::y, CELL_DEGREES);
+    }
+
+    private record Place(String id, Double x, Double y) {
+    }
+}
@@ -0,0 +1,183 @@
+package yerong.wedle.notification;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import yerong.wedle.calendar.domain.CalendarEvent;
+import yerong.wedle.calendar.domain.CalendarEventType;
+import yerong.wedle.calendar.repository.CalendarEventRepository;
+import yerong.wedle.member.domain.Member;
+import yerong.wedle.member.domain.Role;
+import yerong.wedle.member.repository.MemberRepository;
+import yerong.wedle.notification.domain.DeviceToken;
+import yerong.wedle.notification.domain.Notification;
+import yerong.wedle.notification.domain.NotificationOutbox;
+import yerong.wedle.notification.domain.OutboxStatus;
+import yerong.wedle.notification.repository.DeviceTokenRepository;
+import yerong.wedle.notification.repository.NotificationOutboxRepository;
+import yerong.wedle.notification.repository.NotificationRepository;
+import yerong.wedle.notification.service.DueNotification;
+import yerong.wedle.notification.service.NotificationDispatcher;
+import yerong.wedle.notification.service.NotificationOutboxWorker;
+
+/**
+ * 알림 10만 건을 만들어 아웃박스 적재부터 발송 완료까지의 처리량과 DB 쓰기량을 측정한다.
+ * FCM 대신 LocalPushSender를 사용하며, ./gradlew benchmark 로 실행한다.
+ * 스키마를 새로 만들고 지우므로 벤치마크 전용 DB를 BENCHMARK_DATASOURCE_URL, BENCHMARK_DATASOURCE_USERNAME,
+ * BENCHMARK_DATASOURCE_PASSWORD 환경 변수로 지정해야 하며, 지정하지 않으면 컨텍스트가 뜨지 않는다.
+ */
+@Tag("benchmark")
+@ActiveProfiles("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=${benchmark.datasource.url}",
+        "spring.datasource.username=${benchmark.datasource.username}",
+        "spring.datasource.password=${benchmark.datasource.password}",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+class NotificationDispatchBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationDispatchBenchmark.class);
+
+    private static final int MEMBER_COUNT = 10_000;
+    private static final int EVENT_COUNT = 10;
+    private static final int CHUNK_SIZE = 1_000;
+    // 스케줄러가 적재하지 않도록 먼 미래의 날짜를 사용한다.
+    private static final LocalDate NOTIFICATION_DATE = LocalDate.now().plusYears(5);
+
+    @Autowired
+    private NotificationDispatcher notificationDispatcher;
+    @Autowired
+    private NotificationOutboxWorker notificationOutboxWorker;
+    @Autowired
+    private NotificationRepository notificationRepository;
+    @Autowired
+    private NotificationOutboxRepository notificationOutboxRepository;
+    @Autowired
+    private DeviceTokenRepository deviceTokenRepository;
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private CalendarEventRepository calendarEventRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<Long> memberIds = new ArrayList<>();
+    private final List<Long> eventIds = new ArrayList<>();
+    private final List<String> tokens = new ArrayList<>();
+    private final List<DueNotification> dueNotifications = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        List<CalendarEvent> events = new ArrayList<>();
+        for (int i = 0; i < EVENT_COUNT; i++) {
+            events.add(new CalendarEvent(null, "benchmark-event-" + i, NOTIFICATION_DATE, NOTIFICATION_DATE,
+                    CalendarEventType.UNIVERSITY_COOPERATION_EVENT));
+        }
+        calendarEventRepository.saveAll(events).forEach(event -> eventIds.add(event.getId()));
+
+        for (int from = 0; from < MEMBER_COUNT; from += CHUNK_SIZE) {
+            int start = from;
+            transactionTemplate.executeWithoutResult(status -> createMembers(start, events));
+        }
+    }
+
+    private void createMembers(int start, List<CalendarEvent> events) {
+        List<Member> members = new ArrayList<>();
+        for (int i = start; i < start + CHUNK_SIZE; i++) {
+            members.add(Member.builder()
+                    .username("benchmark-" + i)
+                    .socialId("benchmark-" + NOTIFICATION_DATE + "-" + i)
+                    .role(Role.USER)
+                    .build());
+        }
+        memberRepository.saveAll(members);
+
+        List<DeviceToken> deviceTokens = new ArrayList<>();
+        List<Notification> notifications = new ArrayList<>();
+        for (Member member : members) {
+            memberIds.add(member.getMemberId());
+            String token = (member.getMemberId() % 100 == 0 ? "invalid-" : "token-") + member.getMemberId();
+            tokens.add(token);
+            deviceTokens.add(DeviceToken.builder().token(token).member(member).build());
+            for (CalendarEvent event : events) {
+                notifications.add(Notification.builder()
+                        .notificationDate(NOTIFICATION_DATE)
+                        .event(event)
+                        .member(member)
+                        .isActive(true)
+                        .build());
+            }
+        }
+        deviceTokenRepository.saveAll(deviceTokens);
+        notificationRepository.saveAll(notifications).forEach(notification -> dueNotifications.add(
+                new DueNotification(notification.getNotificationId(), notification.getEvent().getId(),
+                        notification.getMember().getMemberId(), false)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Long> outboxIds = notificationOutboxRepository.findAll().stream()
+                    .filter(outbox -> outbox.getIdempotencyKey().startsWith(NOTIFICATION_DATE.toString()))
+                    .map(NotificationOutbox::getOutboxId)
+                    .toList();
+            notificationOutboxRepository.deleteAllByIdInBatch(outboxIds);
+            deviceTokenRepository.deleteByTokenIn(tokens);
+            notificationRepository.deleteAllByIdInBatch(dueNotifications.stream()
+                    .map(DueNotification::getNotificationId)
+                    .toList());
+        });
+        memberRepository.deleteAllByIdInBatch(memberIds);
+        calendarEventRepository.deleteAllByIdInBatch(eventIds);
+    }
+
+    @Test
+    void dispatchesOneHundredThousandNotifications() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        long startedAt = System.nanoTime();
+        notificationDispatcher.dispatch(dueNotifications, List.of());
+        long enqueuedAt = System.nanoTime();
+        int processed = 0;
+        int batch;
+        while ((batch = notificationOutboxWorker.processBatch()) > 0) {
+            processed += batch;
+        }
+        long finishedAt = System.nanoTime();
+
+        long elapsedMillis = Math.max(1, (finishedAt - startedAt) / 1_000_000);
+        log.info("알림 {}건: 적재 {}ms, 발송 {}ms, 전체 {}ms ({}건/초)",
+                dueNotifications.size(), (enqueuedAt - startedAt) / 1_000_000, (finishedAt - enqueuedAt) / 1_000_000,
+                elapsedMillis, dueNotifications.size() * 1000L / elapsedMillis);
+        log.info("아웃박스 처리 {}회, SQL {}건, insert {}건, update {}건, delete {}건, 트랜잭션 {}건",
+                processed, statistics.getPrepareStatementCount(), statistics.getEntityInsertCount(),
+                statistics.getEntityUpdateCount(), statistics.getEntityDeleteCount(),
+                statistics.getTransactionCount());
+
+        assertThat(notificationRepository.findAllById(dueNotifications.stream()
+                .map(DueNotification::getNotificationId)
+                .toList())).isEmpty();
+        assertThat(notificationOutboxRepository.findAll())
+                .filteredOn(outbox -> outbox.getIdempotencyKey().startsWith(NOTIFICATION_DATE.toString()))
+                .allMatch(outbox -> outbox.getStatus() != OutboxStatus.PENDING
+                        && outbox.getStatus() != OutboxStatus.SENDING);
+    }
+}
@@ -0,0 +1,160 @@
+package yerong.wedle.notification.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import yerong.wedle.calendar.domain.CalendarEvent;
+import yerong.wedle.calendar.repository.CalendarEventRepository;
+import yerong.wedle.common.lease.Lease;
+import yerong.wedle.common.lease.RedisLeaseCoordinator;
+import yerong.wedle.member.domain.Member;
+import yerong.wedle.notification.domain.NotificationTopic;
+import yerong.wedle.notification.domain.TopicStatus;
+import yerong.wedle.notification.push.LocalPushSender;
+import yerong.wedle.notification.repository.DeviceTokenRepository;
+import yerong.wedle.notification.repository.NotificationRepository;
+import yerong.wedle.notification.repository.NotificationSchemaRepository;
+import yerong.wedle.notification.repository.NotificationTopicRepository;
+
+class NotificationTopicServiceTest {
+
+    private static final Long EVENT_ID = 7L;
+    private static final LocalDate DATE = LocalDate.now(ZoneId.of("Asia/Seoul")).plusDays(2);
+    private static final LocalTime TIME = LocalTime.of(9, 0);
+    private static final String TOPIC = NotificationTopic.topicName(EVENT_ID, DATE, TIME);
+
+    private final NotificationTopicRepository notificationTopicRepository = mock(NotificationTopicRepository.class);
+    private final NotificationRepository notificationRepository = mock(NotificationRepository.class);
+    private final DeviceTokenRepository deviceTokenRepository = mock(DeviceTokenRepository.class);
+    private final CalendarEventRepository calendarEventRepository = mock(CalendarEventRepository.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final RedisTemplate<String, Object> redisTemplate = mock(RedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final SetOperations<String, Object> setOperations = mock(SetOperations.class);
+    private final CalendarEvent event = mock(CalendarEvent.class);
+
+    private LocalPushSender pushSender;
+    private NotificationTopicService topicService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        pushSender = new LocalPushSender(0, 0, 0, 0, 0.5, "invalid-", 1);
+        topicService = new NotificationTopicService(notificationTopicRepository, notificationRepository,
+                mock(NotificationSchemaRepository.class), deviceTokenRepository, calendarEventRepository, pushSender,
+                mock(RedisLeaseCoordinator.class), redisTemplate, transactionTemplate, true, 2, 7, 30);
+
+        when(event.getId()).thenReturn(EVENT_ID);
+        when(redisTemplate.opsForSet()).thenReturn(setOperations);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                ((TransactionCallback<Object>) invocation.getArgument(0)).doInTransaction(null));
+        doAnswer(invocation -> {
+            ((Consumer<Object>) invocation.getArgument(0)).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(notificationTopicRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        pushSender.stop();
+    }
+
+    @Test
+    void promotesGroupAndCountsOnlyConfirmedSubscriptions() {
+        when(notificationTopicRepository.findByStatusAndNotificationDateAfter(eq(TopicStatus.SUBSCRIBING), any()))
+                .thenReturn(List.of());
+        when(notificationRepository.findPopularGroups(any(), any(), anyLong()))
+                .thenReturn(List.<Object[]>of(new Object[]{EVENT_ID, DATE, TIME, 3L}));
+        when(notificationTopicRepository.findByEventIdAndNotificationDateAndTime(EVENT_ID, DATE, TIME))
+                .thenReturn(Optional.empty());
+        when(calendarEventRepository.getReferenceById(EVENT_ID)).thenReturn(event);
+        when(deviceTokenRepository.findTopicTokens(eq(EVENT_ID), eq(DATE), eq(TIME), eq(0L), any()))
+                .thenReturn(List.of(new Object[]{1L, "token-1"}, new Object[]{2L, "token-2"},
+                        new Object[]{3L, "invalid-3"}));
+        when(deviceTokenRepository.findTopicTokens(eq(EVENT_ID), eq(DATE), eq(TIME), eq(3L), any()))
+                .thenReturn(List.of());
+
+        assertThat(topicService.promote(mock(Lease.class))).isEqualTo(1);
+
+        ArgumentCaptor<NotificationTopic> saved = ArgumentCaptor.forClass(NotificationTopic.class);
+        verify(notificationTopicRepository, atLeastOnce()).save(saved.capture());
+        NotificationTopic topic = saved.getValue();
+        assertThat(topic.getTopic()).isEqualTo(TOPIC);
+        assertThat(topic.getStatus()).isEqualTo(TopicStatus.READY);
+        assertThat(topic.getSubscriberCount()).isEqualTo(2);
+        assertThat(pushSender.getSubscriberCount(TOPIC)).isEqualTo(2);
+        verify(setOperations).add("notification:topic:subscribers:" + TOPIC, "token-1", "token-2");
+        verify(deviceTokenRepository).deleteByTokenIn(List.of("invalid-3"));
+    }
+
+    @Test
+    void subscribesTokensRegisteredAfterPromotion() {
+        Member member = Member.builder().memberId(1L).build();
+        NotificationTopic topic = readyTopic();
+        when(notificationTopicRepository.findByMemberId(eq(1L), any(), any())).thenReturn(List.of(topic));
+
+        topicService.subscribeTokens(member, List.of("token-new"));
+
+        verify(setOperations, timeout(1000)).add("notification:topic:subscribers:" + TOPIC, "token-new");
+        assertThat(pushSender.getSubscriberCount(TOPIC)).isEqualTo(1);
+    }
+
+    @Test
+    void skipsAndUnsubscribesDigestMembers() {
+        Member member = Member.builder().memberId(1L).digestEnabled(true).build();
+        NotificationTopic topic = readyTopic();
+        when(notificationTopicRepository.findByMemberId(eq(1L), any(), any())).thenReturn(List.of(topic));
+        when(deviceTokenRepository.findTokensByMember(member)).thenReturn(List.of("token-1"));
+
+        topicService.subscribeTokens(member, List.of("token-1"));
+        verifyNoInteractions(setOperations);
+
+        topicService.changeDigest(member, true);
+        verify(setOperations).remove("notification:topic:subscribers:" + TOPIC, "token-1");
+    }
+
+    @Test
+    void findsOnlyConfirmedSubscribers() {
+        when(setOperations.isMember("notification:topic:subscribers:" + TOPIC, "token-1", "token-2"))
+                .thenReturn(Map.<Object, Boolean>of("token-1", true, "token-2", false));
+
+        assertThat(topicService.findSubscribed(TOPIC, List.of("token-1", "token-2")))
+                .containsExactly("token-1");
+    }
+
+    private NotificationTopic readyTopic() {
+        NotificationTopic topic = NotificationTopic.builder()
+                .event(event)
+                .notificationDate(DATE)
+                .notificationTime(TIME)
+                .build();
+        topic.markReady(0);
+        return topic;
+    }
+}
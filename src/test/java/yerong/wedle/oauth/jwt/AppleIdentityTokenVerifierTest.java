@@ -0,0 +1,97 @@
+package yerong.wedle.oauth.jwt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import yerong.wedle.oauth.exception.InvalidAppleIdentityTokenException;
+
+class AppleIdentityTokenVerifierTest {
+
+    private static final String CLIENT_ID = "yerong.wedle";
+
+    @TempDir
+    Path tempDir;
+
+    private RSAKey signingKey;
+    private AppleJwksCache appleJwksCache;
+    private AppleIdentityTokenVerifier verifier;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        signingKey = new RSAKeyGenerator(2048).keyID("test-kid").generate();
+        Path jwks = tempDir.resolve("jwks.json");
+        Files.writeString(jwks, new JWKSet(signingKey.toPublicJWK()).toString());
+
+        appleJwksCache = new AppleJwksCache(jwks.toUri().toString(), 3600, 0, 1000, 1000);
+        appleJwksCache.refreshAsync(true).join();
+        verifier = new AppleIdentityTokenVerifier(appleJwksCache, CLIENT_ID, 60, true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        appleJwksCache.stop();
+    }
+
+    @Test
+    void verifiesTokenSignedWithCachedKey() throws Exception {
+        String token = sign(signingKey, "apple-user", CLIENT_ID, new Date(System.currentTimeMillis() + 60_000));
+
+        assertThat(verifier.verify(token)).isEqualTo("apple-user");
+    }
+
+    @Test
+    void rejectsTokenForOtherAudience() throws Exception {
+        String token = sign(signingKey, "apple-user", "other.app", new Date(System.currentTimeMillis() + 60_000));
+
+        assertThatThrownBy(() -> verifier.verify(token)).isInstanceOf(InvalidAppleIdentityTokenException.class);
+    }
+
+    @Test
+    void requiresClientIdWhenVerificationIsEnabled() {
+        assertThatThrownBy(() -> new AppleIdentityTokenVerifier(appleJwksCache, "", 60, true))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void rejectsExpiredToken() throws Exception {
+        String token = sign(signingKey, "apple-user", CLIENT_ID, new Date(System.currentTimeMillis() - 120_000));
+
+        assertThatThrownBy(() -> verifier.verify(token)).isInstanceOf(InvalidAppleIdentityTokenException.class);
+    }
+
+    @Test
+    void rejectsTokenSignedWithUnknownKey() throws Exception {
+        RSAKey unknownKey = new RSAKeyGenerator(2048).keyID("unknown-kid").generate();
+        String token = sign(unknownKey, "apple-user", CLIENT_ID, new Date(System.currentTimeMillis() + 60_000));
+
+        assertThatThrownBy(() -> verifier.verify(token)).isInstanceOf(InvalidAppleIdentityTokenException.class);
+    }
+
+    private String sign(RSAKey key, String subject, String audience, Date expirationTime) throws Exception {
+        SignedJWT signedJWT = new SignedJWT(
+                new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(key.getKeyID()).build(),
+                new JWTClaimsSet.Builder()
+                        .issuer("https://appleid.apple.com")
+                        .subject(subject)
+                        .audience(audience)
+                        .expirationTime(expirationTime)
+                        .build());
+        signedJWT.sign(new RSASSASigner(key));
+        return signedJWT.serialize();
+    }
+}